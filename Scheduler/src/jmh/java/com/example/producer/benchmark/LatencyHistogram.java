@@ -0,0 +1,62 @@
+package com.example.producer.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 并发记录的对数-线性延迟直方图（纳秒），每个 2 的幂区间再细分 32 个桶，相对误差约 3%
+ * 记录只做一次原子自增，可以直接在生产者/消费者线程里调用
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 32;
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS; // 小于 64ns 的值逐个计数
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_LIMIT + (63 - 6) * SUB_BUCKETS);
+
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(nanos, 0)));
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    // 分位数（0 < q <= 1），返回所在桶的上界；没有样本时返回 0
+    public long percentile(double q) {
+        long total = count();
+        if (total == 0) return 0;
+        long target = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length() - 1);
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int top = (int) (value >>> (exponent - 5));
+        return LINEAR_LIMIT + (exponent - 6) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    private static long upperBound(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + 6;
+        long top = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << (exponent - 5)) - 1;
+    }
+}
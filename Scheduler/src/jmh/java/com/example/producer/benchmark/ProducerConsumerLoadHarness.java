@@ -0,0 +1,140 @@
+package com.example.producer.benchmark;
+
+import com.example.producer.buffer.SlotBufferFactory;
+import com.example.producer.buffer.WaitStrategyFactory;
+import com.example.producer.dto.ProducerConsumerStatusDTO;
+import com.example.producer.service.ActorExecutorFactory;
+import com.example.producer.service.ProducerConsumerService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 生产者消费者压测：生产、消费延迟均设为 0，按不同的生产者/消费者数量各跑一轮，输出
+ * - 吞吐量（每秒消费的物品数）
+ * - 交接延迟 p50/p99/p999：物品从"已完成"到被消费者取走的时间
+ * - 竞争情况：缓冲区满/空导致的等待次数，以及线程在监视器上阻塞的次数与累计时间
+ * - CPU：测量窗口内进程平均占用的核数，用于比较等待策略的延迟/CPU 取舍
+ * 参数：-actors 1,4,16,64（生产者与消费者数量相同）-buffer 20 -warmup 2 -duration 5（秒）-mode indexed|ring|synchronized
+ *       -wait blocking|spin-park|busy-spin|sleep -threads platform|virtual
+ * 运行：mvn -Pjmh test-compile exec:exec -Dbench.main=com.example.producer.benchmark.ProducerConsumerLoadHarness -Djmh.args="-actors 1,4,16,64"
+ */
+public class ProducerConsumerLoadHarness {
+
+    public static void main(String[] args) throws InterruptedException {
+        List<Integer> actors = List.of(1, 2, 4, 8, 16, 32, 64);
+        int bufferSize = 20;
+        int warmupSeconds = 2;
+        int durationSeconds = 5;
+        String mode = SlotBufferFactory.INDEXED;
+        String wait = WaitStrategyFactory.BLOCKING;
+        String threadMode = ActorExecutorFactory.PLATFORM;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "-actors":
+                    List<Integer> parsed = new ArrayList<>();
+                    for (String count : args[i + 1].split(",")) {
+                        parsed.add(Integer.parseInt(count.trim()));
+                    }
+                    actors = parsed;
+                    break;
+                case "-buffer":
+                    bufferSize = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-warmup":
+                    warmupSeconds = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-duration":
+                    durationSeconds = Integer.parseInt(args[i + 1]);
+                    break;
+                case "-mode":
+                    mode = args[i + 1];
+                    break;
+                case "-wait":
+                    wait = args[i + 1];
+                    break;
+                case "-threads":
+                    threadMode = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + args[i]);
+            }
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads.isThreadContentionMonitoringSupported()) {
+            threads.setThreadContentionMonitoringEnabled(true);
+        }
+
+        System.out.println("mode: " + SlotBufferFactory.normalize(mode) + ", wait: " + WaitStrategyFactory.normalize(wait)
+                + ", threads: " + ActorExecutorFactory.normalize(threadMode)
+                + (ActorExecutorFactory.isVirtualThreadSupported() ? "" : " (virtual threads unavailable, using platform threads)"));
+        System.out.printf("%6s %6s %12s %10s %10s %10s %12s %12s %12s %10s %6s%n",
+                "actors", "buffer", "items/s", "p50(us)", "p99(us)", "p999(us)",
+                "fullWaits/s", "emptyWaits/s", "blocked/s", "blkMs/s", "cpus");
+        for (int count : actors) {
+            run(count, bufferSize, mode, wait, threadMode, warmupSeconds, durationSeconds, threads);
+        }
+    }
+
+    private static void run(int actors, int bufferSize, String mode, String wait, String threadMode, int warmupSeconds, int durationSeconds, ThreadMXBean threads)
+            throws InterruptedException {
+        ProducerConsumerService service = new ProducerConsumerService();
+        LatencyHistogram histogram = new LatencyHistogram();
+        service.init(bufferSize, actors, actors, 1000, 0, 0, mode, wait, threadMode);
+        service.setHandoffListener(histogram::record);
+        service.startSimulation();
+        Thread.sleep(warmupSeconds * 1000L);
+
+        // 预热结束后清零，只统计测量窗口内的数据
+        histogram.reset();
+        ProducerConsumerStatusDTO.Stats before = service.getStatus().getStats();
+        long[] blockedBefore = blocked(threads);
+        long cpuBefore = processCpuNanos();
+        long start = System.nanoTime();
+        Thread.sleep(durationSeconds * 1000L);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        ProducerConsumerStatusDTO.Stats after = service.getStatus().getStats();
+        long[] blockedAfter = blocked(threads);
+        long cpuAfter = processCpuNanos();
+        service.stopSimulation();
+
+        System.out.printf("%6d %6d %12.0f %10.1f %10.1f %10.1f %12.0f %12.0f %12.0f %10.1f %6.2f%n",
+                actors, bufferSize,
+                (after.getTotalConsumed() - before.getTotalConsumed()) / seconds,
+                histogram.percentile(0.50) / 1e3,
+                histogram.percentile(0.99) / 1e3,
+                histogram.percentile(0.999) / 1e3,
+                (after.getBufferFullCount() - before.getBufferFullCount()) / seconds,
+                (after.getBufferEmptyCount() - before.getBufferEmptyCount()) / seconds,
+                (blockedAfter[0] - blockedBefore[0]) / seconds,
+                (blockedAfter[1] - blockedBefore[1]) / seconds,
+                (cpuAfter - cpuBefore) / 1e9 / seconds);
+        // 等待上一轮的线程退出，避免影响下一轮
+        Thread.sleep(300);
+    }
+
+    // 进程累计 CPU 时间（纳秒），JVM 不支持时返回 0
+    private static long processCpuNanos() {
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return Math.max(((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime(), 0);
+        }
+        return 0;
+    }
+
+    // 所有存活线程在监视器上阻塞的总次数与总时间（毫秒，需要 JVM 支持竞争监控）
+    private static long[] blocked(ThreadMXBean threads) {
+        long count = 0;
+        long millis = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info == null) continue;
+            count += info.getBlockedCount();
+            millis += Math.max(info.getBlockedTime(), 0);
+        }
+        return new long[]{count, millis};
+    }
+}
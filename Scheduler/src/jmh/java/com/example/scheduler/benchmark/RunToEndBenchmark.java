@@ -0,0 +1,55 @@
+package com.example.scheduler.benchmark;
+
+import com.example.scheduler.algorithm.SchedulingAlgorithmFactory;
+import com.example.scheduler.service.SchedulerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通过 SchedulerService 完整跑完一组负载（事件驱动的 runToEnd）
+ * 负载在 Trial 开始时生成并加载一次，每次调用前 reset 回初始状态，reset 不计入测量时间
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RunToEndBenchmark {
+
+    private static final String SESSION = "benchmark";
+
+    @Param({"fcfs", "sjf", "priority", "hrn", "rr"})
+    public String algorithm;
+
+    @Param({"10000", "1000000"})
+    public int processCount;
+
+    @Param({"4", "256"})
+    public int coreCount;
+
+    @Param({"uniform", "bursty", "heavyTailed"})
+    public String distribution;
+
+    private SchedulerService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new SchedulerService(1, Duration.ofDays(1));
+        service.initProcesses(SESSION, Workloads.generate(distribution, processCount, 42), coreCount,
+                SchedulingAlgorithmFactory.create(algorithm, 2));
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        service.reset(SESSION);
+    }
+
+    @Benchmark
+    public boolean runToEnd() {
+        service.runToEnd(SESSION);
+        return service.isAllFinished(SESSION);
+    }
+}
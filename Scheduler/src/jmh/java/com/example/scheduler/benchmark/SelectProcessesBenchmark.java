@@ -0,0 +1,60 @@
+package com.example.scheduler.benchmark;
+
+import com.example.scheduler.algorithm.ISchedulingAlgorithm;
+import com.example.scheduler.algorithm.SchedulingAlgorithmFactory;
+import com.example.scheduler.model.ProcessTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单次 selectProcesses 的开销：就绪队列保持 readySize 个进程，
+ * 每次调用取出 coreCount 个进程，再把它们放回就绪结构，使队列规模在整个测量期间不变
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectProcessesBenchmark {
+
+    @Param({"fcfs", "sjf", "priority", "hrn", "rr"})
+    public String algorithm;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int readySize;
+
+    @Param({"4", "256"})
+    public int coreCount;
+
+    @Param({"uniform", "bursty", "heavyTailed"})
+    public String distribution;
+
+    private ISchedulingAlgorithm scheduler;
+    private int[] selected;
+    private int currentTime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ProcessTable table = ProcessTable.of(Workloads.generate(distribution, readySize, 42));
+        table.sortByArrival();
+        scheduler = SchedulingAlgorithmFactory.create(algorithm, 2);
+        scheduler.bind(table);
+        for (int i = 0; i < table.size(); i++) {
+            scheduler.onProcessReady(i);
+        }
+        selected = new int[coreCount];
+        // 从最后一个进程到达之后开始计时，所有进程都已就绪
+        currentTime = table.getArrivalTime(table.size() - 1);
+    }
+
+    @Benchmark
+    public int selectAndRequeue() {
+        int count = scheduler.selectProcesses(coreCount, currentTime++, selected);
+        for (int i = 0; i < count; i++) {
+            scheduler.onProcessReady(selected[i]);
+        }
+        return count;
+    }
+}
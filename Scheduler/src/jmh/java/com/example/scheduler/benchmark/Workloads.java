@@ -0,0 +1,55 @@
+package com.example.scheduler.benchmark;
+
+import com.example.scheduler.model.ProcessControlBlock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试用的负载生成器（固定随机种子，结果可复现）
+ * - uniform：到达时间在 [0, count) 内均匀分布，服务时间 1~20 均匀分布
+ * - bursty：进程成批到达，每批约 1% 的进程在同一时刻到达，批与批之间有较长空闲
+ * - heavyTailed：到达间隔与服务时间都服从 Pareto 分布（alpha = 1.5），少数进程极长
+ */
+public final class Workloads {
+
+    private Workloads() {
+    }
+
+    public static List<ProcessControlBlock> generate(String distribution, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ProcessControlBlock> processes = new ArrayList<>(count);
+        int arrival = 0;
+        int batch = Math.max(1, count / 100);
+        for (int pid = 0; pid < count; pid++) {
+            int burst;
+            switch (distribution) {
+                case "uniform":
+                    arrival = random.nextInt(count);
+                    burst = 1 + random.nextInt(20);
+                    break;
+                case "bursty":
+                    if (pid % batch == 0) {
+                        arrival += 1 + random.nextInt(batch * 20);
+                    }
+                    burst = 1 + random.nextInt(20);
+                    break;
+                case "heavyTailed":
+                    arrival += pareto(random, 1, 1000) - 1;
+                    burst = pareto(random, 1, 10_000);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知的分布: " + distribution);
+            }
+            processes.add(new ProcessControlBlock(pid, arrival, burst, 1 + random.nextInt(64), random.nextInt(10)));
+        }
+        return processes;
+    }
+
+    // Pareto(alpha = 1.5) 取整，截断在 max 以内
+    private static int pareto(SplittableRandom random, int min, int max) {
+        double value = min / Math.pow(1 - random.nextDouble(), 1 / 1.5);
+        return (int) Math.min(value, max);
+    }
+}
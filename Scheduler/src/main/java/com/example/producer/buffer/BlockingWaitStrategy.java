@@ -0,0 +1,70 @@
+package com.example.producer.buffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 条件变量等待：没有槽位时在 Condition 上挂起，槽位状态变化时被唤醒
+ * 不占 CPU；没有等待者时 signalAll 只做一次原子自增，不获取锁
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    // 兜底的最长等待时间，保证停止模拟后线程能及时退出
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void await(long observedVersion, BooleanSupplier running) throws InterruptedException {
+        waiters.incrementAndGet();
+        lock.lock();
+        try {
+            long nanos = MAX_WAIT_NANOS;
+            while (version.get() == observedVersion && running.getAsBoolean() && nanos > 0) {
+                nanos = changed.awaitNanos(nanos);
+            }
+        } finally {
+            lock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void signal() {
+        version.incrementAndGet();
+        // 等待者先登记再检查版本号，这里先改版本号再检查登记数，二者至少有一方能看到对方
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        version.incrementAndGet();
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.producer.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 忙等：一直自旋直到版本号变化，唤醒延迟最低，但每个等待线程都会占满一个 CPU 核
+ * 只适合生产者、消费者总数不超过 CPU 核数的低延迟场景
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void await(long observedVersion, BooleanSupplier running) throws InterruptedException {
+        while (version.get() == observedVersion && running.getAsBoolean()) {
+            Thread.onSpinWait();
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        version.incrementAndGet();
+    }
+}
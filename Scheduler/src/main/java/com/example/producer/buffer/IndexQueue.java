@@ -0,0 +1,82 @@
+package com.example.producer.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界的多生产者多消费者槽位下标队列（与 RingSlotBuffer 相同的序号 + CAS 算法），入队出队均为 O(1)
+ * 用于记录空闲槽位与已完成槽位：每个槽位下标同一时刻最多在一个队列里，所以容量等于槽位数时逻辑上永远不会满；
+ * 但出队线程推进读位置之后、写回格子序号之前，入队线程可能已经绕回这个格子，此时等待它写完而不是报满
+ */
+class IndexQueue {
+
+    private final int capacity;
+    private final AtomicLongArray sequence;
+    private final int[] indices; // 由 sequence 的 volatile 写发布
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    IndexQueue(int capacity) {
+        this.capacity = capacity;
+        sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequence.set(i, i);
+        }
+        indices = new int[capacity];
+    }
+
+    // 填入 0 .. capacity-1（初始化空闲队列用，只能在发布给其它线程之前调用）
+    void fillAll() {
+        for (int i = 0; i < capacity; i++) {
+            indices[i] = i;
+            sequence.set(i, i + 1);
+        }
+        enqueuePosition.set(capacity);
+    }
+
+    void offer(int index) {
+        long pos = enqueuePosition.get();
+        while (true) {
+            int cell = (int) (pos % capacity);
+            long difference = sequence.get(cell) - pos;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(pos, pos + 1)) {
+                    indices[cell] = index;
+                    sequence.set(cell, pos + 1);
+                    return;
+                }
+                pos = enqueuePosition.get();
+            } else if (difference < 0) {
+                // 上一圈的下标已被出队线程认领，但它还没写回序号：自旋等它释放格子后重新读取
+                Thread.onSpinWait();
+                pos = enqueuePosition.get();
+            } else {
+                pos = enqueuePosition.get();
+            }
+        }
+    }
+
+    // 取出一个下标，队列为空时返回 -1
+    int poll() {
+        if (capacity == 0) {
+            return -1;
+        }
+        long pos = dequeuePosition.get();
+        while (true) {
+            int cell = (int) (pos % capacity);
+            long difference = sequence.get(cell) - (pos + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(pos, pos + 1)) {
+                    int index = indices[cell];
+                    sequence.set(cell, pos + capacity);
+                    return index;
+                }
+                pos = dequeuePosition.get();
+            } else if (difference < 0) {
+                return -1;
+            } else {
+                pos = dequeuePosition.get();
+            }
+        }
+    }
+}
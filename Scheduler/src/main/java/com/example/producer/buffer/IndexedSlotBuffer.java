@@ -0,0 +1,148 @@
+package com.example.producer.buffer;
+
+import com.example.producer.model.BufferItem;
+import com.example.producer.model.SlotState;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntSupplier;
+
+/**
+ * 按下标队列分配槽位的缓冲区：空闲槽位（空/已消费）与已完成槽位各放在一个 IndexQueue 中，
+ * 生产者从空闲队列取槽位、消费者从已完成队列取槽位，认领与交还都是 O(1)，与缓冲区大小无关
+ * 与环形缓冲区不同，槽位按完成顺序交给消费者，先完成的物品不必等前面仍在生产中的槽位
+ * 槽位状态以 SlotState.code() 存放在 AtomicIntegerArray 中，每次状态转换是一次 CAS；
+ * CAS 成功的线程独占该槽位，槽位上的其它字段（按列存储）在下一次状态转换之前写好，由它发布给下一个线程
+ */
+public class IndexedSlotBuffer implements SlotBuffer {
+
+    private static final int EMPTY = SlotState.EMPTY.code();
+    private static final int PRODUCING = SlotState.PRODUCING.code();
+    private static final int COMPLETED = SlotState.COMPLETED.code();
+    private static final int CONSUMING = SlotState.CONSUMING.code();
+    private static final int CONSUMED = SlotState.CONSUMED.code();
+
+    private final int capacity;
+    private final IndexQueue freeSlots;
+    private final IndexQueue completedSlots;
+
+    // 槽位内容，按列存储
+    private final AtomicIntegerArray states; // 初始全部为 EMPTY（0）
+    private final int[] values;
+    private final String[] producerIds;
+    private final String[] consumerIds;
+    private final LocalDateTime[] timestamps;
+    private final long[] waitTimes;
+    private final long[] completedAtNanos;
+
+    public IndexedSlotBuffer(int capacity) {
+        this.capacity = capacity;
+        freeSlots = new IndexQueue(capacity);
+        freeSlots.fillAll();
+        completedSlots = new IndexQueue(capacity);
+        states = new AtomicIntegerArray(capacity);
+        values = new int[capacity];
+        producerIds = new String[capacity];
+        consumerIds = new String[capacity];
+        timestamps = new LocalDateTime[capacity];
+        waitTimes = new long[capacity];
+        completedAtNanos = new long[capacity];
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    // 从空闲队列取一个槽位（"空" 或 "已消费"），CAS 为生产中
+    @Override
+    public int tryClaimProduction(String producerId, IntSupplier valueSource) {
+        int slot = freeSlots.poll();
+        if (slot < 0) {
+            return -1;
+        }
+        int state = states.get(slot);
+        if ((state != EMPTY && state != CONSUMED) || !states.compareAndSet(slot, state, PRODUCING)) {
+            // 空闲队列中的槽位只会是空或已消费，这里不应该发生
+            throw new IllegalStateException("槽位 " + slot + " 不是空闲状态: " + SlotState.of(state));
+        }
+        producerIds[slot] = producerId;
+        consumerIds[slot] = null;
+        timestamps[slot] = LocalDateTime.now();
+        waitTimes[slot] = 0;
+        values[slot] = valueSource.getAsInt();
+        return slot;
+    }
+
+    @Override
+    public boolean completeProduction(int slot, String producerId) {
+        if (states.get(slot) != PRODUCING || !producerId.equals(producerIds[slot])) {
+            return false;
+        }
+        completedAtNanos[slot] = System.nanoTime();
+        if (!states.compareAndSet(slot, PRODUCING, COMPLETED)) {
+            return false;
+        }
+        completedSlots.offer(slot);
+        return true;
+    }
+
+    // 从已完成队列取一个槽位，CAS 为消费中并记录消费者 id
+    @Override
+    public int tryClaimConsumption(String consumerId) {
+        int slot = completedSlots.poll();
+        if (slot < 0) {
+            return -1;
+        }
+        if (!states.compareAndSet(slot, COMPLETED, CONSUMING)) {
+            throw new IllegalStateException("槽位 " + slot + " 不是已完成状态: " + SlotState.of(states.get(slot)));
+        }
+        consumerIds[slot] = consumerId;
+        return slot;
+    }
+
+    // 消费完成后标记为 "已消费"（不清空槽位，等待下次生产覆盖）并放回空闲队列
+    @Override
+    public BufferItem completeConsumption(int slot, String consumerId) {
+        if (states.get(slot) != CONSUMING || !consumerId.equals(consumerIds[slot])) {
+            return null;
+        }
+        waitTimes[slot] = Duration.between(timestamps[slot], LocalDateTime.now()).toMillis();
+        // 交还槽位之前先复制，交还之后槽位可能立即被生产者覆盖
+        BufferItem consumed = copy(slot, SlotState.CONSUMED);
+        if (!states.compareAndSet(slot, CONSUMING, CONSUMED)) {
+            return null;
+        }
+        freeSlots.offer(slot);
+        return consumed;
+    }
+
+    @Override
+    public int getValue(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    public long getCompletedAtNanos(int slot) {
+        return completedAtNanos[slot];
+    }
+
+    // 不加锁读取，各字段之间可能不是同一时刻的值，仅用于展示
+    @Override
+    public BufferItem snapshot(int slot) {
+        return copy(slot, SlotState.of(states.get(slot)));
+    }
+
+    private BufferItem copy(int slot, SlotState state) {
+        BufferItem copy = new BufferItem();
+        copy.setValue(values[slot]);
+        copy.setProducerId(producerIds[slot]);
+        copy.setConsumerId(consumerIds[slot]);
+        copy.setTimestamp(timestamps[slot]);
+        copy.setConsumed(state == SlotState.CONSUMED);
+        copy.setWaitTime(waitTimes[slot]);
+        copy.setState(state);
+        return copy;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.producer.buffer;
+
+import com.example.producer.model.BufferItem;
+import com.example.producer.model.SlotState;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntSupplier;
+
+/**
+ * 无锁多生产者多消费者环形缓冲区（Vyukov 有界队列）
+ * 写位置 enqueuePosition、读位置 dequeuePosition 单调递增，位置 pos 对应槽位 pos % capacity；
+ * 每个槽位有一个序号 sequence，线程通过比较序号与位置判断槽位是否可用，再用 CAS 推进位置来认领：
+ * - sequence == pos：可以生产，CAS 写位置成功即认领（→ 生产中）
+ * - 生产完成后 sequence = pos + 1（→ 已完成），消费者看到 sequence == pos + 1 即可 CAS 读位置认领（→ 消费中）
+ * - 消费完成后 sequence = pos + capacity（→ 已消费），槽位留给下一圈的生产者
+ * 认领与交接都不加锁；认领成功的线程独占槽位，槽位上的其它字段在交接前写入，由 sequence 的 volatile 写发布
+ * 状态（SlotState.code()）只用于校验与展示，保持与原有实现相同的状态机
+ */
+public class RingSlotBuffer implements SlotBuffer {
+
+    private static final int PRODUCING = SlotState.PRODUCING.code();
+    private static final int COMPLETED = SlotState.COMPLETED.code();
+    private static final int CONSUMING = SlotState.CONSUMING.code();
+    private static final int CONSUMED = SlotState.CONSUMED.code();
+
+    private final int capacity;
+    private final AtomicLongArray sequence;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+    private final long[] claimedPosition; // 槽位当前被认领时对应的位置，只由占据槽位的线程读写
+
+    // 槽位内容，按列存储
+    private final AtomicIntegerArray states; // 初始全部为 EMPTY（0）
+    private final int[] values;
+    private final String[] producerIds;
+    private final String[] consumerIds;
+    private final LocalDateTime[] timestamps;
+    private final long[] waitTimes;
+    private final long[] completedAtNanos;
+
+    public RingSlotBuffer(int capacity) {
+        this.capacity = capacity;
+        sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequence.set(i, i);
+        }
+        claimedPosition = new long[capacity];
+        states = new AtomicIntegerArray(capacity);
+        values = new int[capacity];
+        producerIds = new String[capacity];
+        consumerIds = new String[capacity];
+        timestamps = new LocalDateTime[capacity];
+        waitTimes = new long[capacity];
+        completedAtNanos = new long[capacity];
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int tryClaimProduction(String producerId, IntSupplier valueSource) {
+        if (capacity == 0) {
+            return -1;
+        }
+        long pos = enqueuePosition.get();
+        while (true) {
+            int slot = (int) (pos % capacity);
+            long difference = sequence.get(slot) - pos;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(pos, pos + 1)) {
+                    claimedPosition[slot] = pos;
+                    producerIds[slot] = producerId;
+                    consumerIds[slot] = null;
+                    timestamps[slot] = LocalDateTime.now();
+                    waitTimes[slot] = 0;
+                    values[slot] = valueSource.getAsInt();
+                    states.set(slot, PRODUCING);
+                    return slot;
+                }
+                pos = enqueuePosition.get();
+            } else if (difference < 0) {
+                // 该位置的槽位上一圈的物品还没被消费完：缓冲区已满
+                return -1;
+            } else {
+                // 其它生产者已经认领了该位置，重新读取写位置
+                pos = enqueuePosition.get();
+            }
+        }
+    }
+
+    @Override
+    public boolean completeProduction(int slot, String producerId) {
+        if (states.get(slot) != PRODUCING || !producerId.equals(producerIds[slot])) {
+            return false;
+        }
+        completedAtNanos[slot] = System.nanoTime();
+        // 与 IndexedSlotBuffer 相同：只有 CAS 成功的那一次完成调用才发布序号，重复完成不会把同一槽位交给消费者两次
+        if (!states.compareAndSet(slot, PRODUCING, COMPLETED)) {
+            return false;
+        }
+        sequence.set(slot, claimedPosition[slot] + 1);
+        return true;
+    }
+
+    @Override
+    public int tryClaimConsumption(String consumerId) {
+        if (capacity == 0) {
+            return -1;
+        }
+        long pos = dequeuePosition.get();
+        while (true) {
+            int slot = (int) (pos % capacity);
+            long difference = sequence.get(slot) - (pos + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(pos, pos + 1)) {
+                    claimedPosition[slot] = pos;
+                    consumerIds[slot] = consumerId;
+                    states.set(slot, CONSUMING);
+                    return slot;
+                }
+                pos = dequeuePosition.get();
+            } else if (difference < 0) {
+                // 该位置还没有生产完成的物品：缓冲区为空
+                return -1;
+            } else {
+                pos = dequeuePosition.get();
+            }
+        }
+    }
+
+    @Override
+    public BufferItem completeConsumption(int slot, String consumerId) {
+        if (states.get(slot) != CONSUMING || !consumerId.equals(consumerIds[slot])) {
+            return null;
+        }
+        waitTimes[slot] = Duration.between(timestamps[slot], LocalDateTime.now()).toMillis();
+        if (!states.compareAndSet(slot, CONSUMING, CONSUMED)) {
+            return null;
+        }
+        // 交还槽位之前先复制，交还之后槽位可能立即被下一圈的生产者覆盖
+        BufferItem consumed = snapshot(slot);
+        sequence.set(slot, claimedPosition[slot] + capacity);
+        return consumed;
+    }
+
+    @Override
+    public int getValue(int slot) {
+        return values[slot];
+    }
+
+    @Override
+    public long getCompletedAtNanos(int slot) {
+        return completedAtNanos[slot];
+    }
+
+    // 不加锁读取，各字段之间可能不是同一时刻的值，仅用于展示
+    @Override
+    public BufferItem snapshot(int slot) {
+        int state = states.get(slot);
+        BufferItem copy = new BufferItem();
+        copy.setValue(values[slot]);
+        copy.setProducerId(producerIds[slot]);
+        copy.setConsumerId(consumerIds[slot]);
+        copy.setTimestamp(timestamps[slot]);
+        copy.setConsumed(state == CONSUMED);
+        copy.setWaitTime(waitTimes[slot]);
+        copy.setState(SlotState.of(state));
+        return copy;
+    }
+
+    @Override
+    public int getHeadPointer() {
+        return capacity == 0 ? 0 : (int) (dequeuePosition.get() % capacity);
+    }
+
+    @Override
+    public int getTailPointer() {
+        return capacity == 0 ? 0 : (int) (enqueuePosition.get() % capacity);
+    }
+}
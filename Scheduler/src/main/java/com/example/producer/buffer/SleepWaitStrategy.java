@@ -0,0 +1,27 @@
+package com.example.producer.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 原有的等待方式：固定休眠 100ms 后重试，不响应唤醒，保留用于对比
+ */
+public class SleepWaitStrategy implements WaitStrategy {
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void await(long observedVersion, BooleanSupplier running) throws InterruptedException {
+        Thread.sleep(100);
+    }
+
+    @Override
+    public void signalAll() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.producer.buffer;
+
+import com.example.producer.model.BufferItem;
+
+import java.util.function.IntSupplier;
+
+/**
+ * 生产者消费者共享的槽位缓冲区
+ * 每个槽位按 空 → 生产中 → 已完成 → 消费中 → 已消费 → 生产中 … 的状态机流转，
+ * 槽位以下标表示；认领成功的线程独占该槽位直到把它交给下一个状态
+ */
+public interface SlotBuffer {
+
+    int capacity();
+
+    /**
+     * 认领一个可生产的槽位（空 或 已消费 → 生产中），认领成功后从 valueSource 取物品值
+     * @return 槽位下标，没有可用槽位时返回 -1
+     */
+    int tryClaimProduction(String producerId, IntSupplier valueSource);
+
+    /**
+     * 生产完成（生产中 → 已完成）
+     * @return 槽位仍由该生产者占据并成功完成时返回 true
+     */
+    boolean completeProduction(int slot, String producerId);
+
+    /**
+     * 认领一个已完成的槽位（已完成 → 消费中）
+     * @return 槽位下标，没有已完成的物品时返回 -1
+     */
+    int tryClaimConsumption(String consumerId);
+
+    /**
+     * 消费完成（消费中 → 已消费），记录等待时间
+     * @return 被消费物品的副本；槽位已不处于该消费者的消费中状态时返回 null
+     */
+    BufferItem completeConsumption(int slot, String consumerId);
+
+    // 槽位上的物品值（仅由占据该槽位的线程读取）
+    int getValue(int slot);
+
+    // 槽位变为"已完成"的时刻，System.nanoTime()（仅由占据该槽位的线程读取）
+    long getCompletedAtNanos(int slot);
+
+    // 槽位的只读副本，用于状态展示
+    BufferItem snapshot(int slot);
+
+    // 读指针与写指针（环形缓冲区中的位置），没有该概念的实现返回 0 与容量
+    default int getHeadPointer() {
+        return 0;
+    }
+
+    default int getTailPointer() {
+        return capacity();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.producer.buffer;
+
+/**
+ * 根据前端传入的模式名称创建缓冲区实现
+ * - indexed（默认）：空闲/已完成槽位下标队列，O(1) 认领，按完成顺序消费
+ * - ring：基于序号 CAS 的无锁多生产者多消费者环形缓冲区
+ * - synchronized：原有的逐槽位加锁、循环扫描实现，保留作为压测对比基线
+ */
+public class SlotBufferFactory {
+
+    public static final String INDEXED = "indexed";
+    public static final String RING = "ring";
+    public static final String SYNCHRONIZED = "synchronized";
+
+    private SlotBufferFactory() {
+    }
+
+    public static SlotBuffer create(String mode, int capacity) {
+        switch (normalize(mode)) {
+            case RING:
+                return new RingSlotBuffer(capacity);
+            case SYNCHRONIZED:
+                return new SynchronizedSlotBuffer(capacity);
+            case INDEXED:
+            default:
+                return new IndexedSlotBuffer(capacity);
+        }
+    }
+
+    public static String normalize(String mode) {
+        if (RING.equalsIgnoreCase(mode)) {
+            return RING;
+        }
+        if (SYNCHRONIZED.equalsIgnoreCase(mode)) {
+            return SYNCHRONIZED;
+        }
+        return INDEXED;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.producer.buffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 先自旋、再让出 CPU、最后按指数退避 park
+ * 短暂的空/满在自旋阶段就能拿到槽位；长时间等待时 park 时长逐步加倍，最长 1ms
+ */
+public class SpinThenParkWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void await(long observedVersion, BooleanSupplier running) throws InterruptedException {
+        int tries = 0;
+        long parkNanos = MIN_PARK_NANOS;
+        while (version.get() == observedVersion && running.getAsBoolean()) {
+            if (tries < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+            }
+            tries++;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.producer.buffer;
+
+import com.example.producer.model.BufferItem;
+import com.example.producer.model.SlotState;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+/**
+ * 原有的槽位实现，保留作为对比基线：每个槽位是一个 BufferItem，状态变更在该槽位的锁内完成
+ * 生产者、消费者各自记住上次使用的位置，从下一个槽位开始循环扫描，认领一个槽位最坏需要 O(容量)
+ * 槽位锁使用 ReentrantLock 而不是 synchronized：虚拟线程在 synchronized 块内会钉住载体线程，ReentrantLock 不会
+ */
+public class SynchronizedSlotBuffer implements SlotBuffer {
+
+    private final BufferItem[] slots; // 固定大小的槽位数组，槽位永远存在（不会为 null）
+    private final ReentrantLock[] slotLocks; // 每个槽位的单独锁
+
+    // 为每个生产者/消费者维护当前槽位索引，用于循环选择槽位
+    private final Map<String, Integer> producerCurrentSlotIndex = new ConcurrentHashMap<>();
+    private final Map<String, Integer> consumerCurrentSlotIndex = new ConcurrentHashMap<>();
+
+    public SynchronizedSlotBuffer(int capacity) {
+        slots = new BufferItem[capacity];
+        slotLocks = new ReentrantLock[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slotLocks[i] = new ReentrantLock();
+            // 初始状态为 "空"，其它字段保持默认（value=0, producerId=null 等）
+            slots[i] = new BufferItem();
+        }
+    }
+
+    @Override
+    public int capacity() {
+        return slots.length;
+    }
+
+    // 查找可用于生产的槽位（"空" 或 "已消费"），在槽位锁内直接标记为生产中，防止其他生产者抢占
+    @Override
+    public int tryClaimProduction(String producerId, IntSupplier valueSource) {
+        if (slots.length == 0) {
+            return -1;
+        }
+        int startIndex = producerCurrentSlotIndex.getOrDefault(producerId, 0);
+        int currentIndex = startIndex;
+        for (int checkedSlots = 0; checkedSlots < slots.length; checkedSlots++) {
+            BufferItem slot = slots[currentIndex];
+            ReentrantLock lock = slotLocks[currentIndex];
+            lock.lock();
+            try {
+                if (slot.getState() == SlotState.EMPTY || slot.getState() == SlotState.CONSUMED) {
+                    slot.setProducerId(producerId);
+                    slot.setTimestamp(LocalDateTime.now());
+                    slot.setConsumed(false);
+                    slot.setWaitTime(0);
+                    slot.setState(SlotState.PRODUCING);
+                    slot.setConsumerId(null);
+                    slot.setValue(valueSource.getAsInt());
+
+                    // 更新当前生产者的下一个起始索引
+                    producerCurrentSlotIndex.put(producerId, (currentIndex + 1) % slots.length);
+                    return currentIndex;
+                }
+            } finally {
+                lock.unlock();
+            }
+            currentIndex = (currentIndex + 1) % slots.length;
+        }
+
+        // 如果没有找到可用槽位，也更新索引以便下次从新位置开始
+        producerCurrentSlotIndex.put(producerId, (startIndex + 1) % slots.length);
+        return -1;
+    }
+
+    @Override
+    public boolean completeProduction(int slot, String producerId) {
+        BufferItem item = slots[slot];
+        ReentrantLock lock = slotLocks[slot];
+        lock.lock();
+        try {
+            if (producerId.equals(item.getProducerId()) && item.getState() == SlotState.PRODUCING) {
+                item.setState(SlotState.COMPLETED);
+                item.setCompletedAtNanos(System.nanoTime());
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 查找已完成的槽位（"已完成"），在槽位锁内标记为消费中并记录消费者 id
+    @Override
+    public int tryClaimConsumption(String consumerId) {
+        if (slots.length == 0) {
+            return -1;
+        }
+        int startIndex = consumerCurrentSlotIndex.getOrDefault(consumerId, 0);
+        int currentIndex = startIndex;
+        for (int checkedSlots = 0; checkedSlots < slots.length; checkedSlots++) {
+            BufferItem slot = slots[currentIndex];
+            ReentrantLock lock = slotLocks[currentIndex];
+            lock.lock();
+            try {
+                if (slot.getState() == SlotState.COMPLETED) {
+                    slot.setState(SlotState.CONSUMING);
+                    slot.setConsumerId(consumerId);
+                    consumerCurrentSlotIndex.put(consumerId, (currentIndex + 1) % slots.length);
+                    return currentIndex;
+                }
+            } finally {
+                lock.unlock();
+            }
+            currentIndex = (currentIndex + 1) % slots.length;
+        }
+
+        consumerCurrentSlotIndex.put(consumerId, (startIndex + 1) % slots.length);
+        return -1;
+    }
+
+    // 消费完成后标记为 "已消费"（不清空槽位，等待下次生产覆盖）
+    @Override
+    public BufferItem completeConsumption(int slot, String consumerId) {
+        BufferItem item = slots[slot];
+        ReentrantLock lock = slotLocks[slot];
+        lock.lock();
+        try {
+            if (!consumerId.equals(item.getConsumerId()) || item.getState() != SlotState.CONSUMING) {
+                return null;
+            }
+            item.setConsumed(true);
+            item.setWaitTime(Duration.between(item.getTimestamp(), LocalDateTime.now()).toMillis());
+            item.setState(SlotState.CONSUMED);
+            return copy(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getValue(int slot) {
+        BufferItem item = slots[slot];
+        ReentrantLock lock = slotLocks[slot];
+        lock.lock();
+        try {
+            return item.getValue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long getCompletedAtNanos(int slot) {
+        BufferItem item = slots[slot];
+        ReentrantLock lock = slotLocks[slot];
+        lock.lock();
+        try {
+            return item.getCompletedAtNanos();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public BufferItem snapshot(int slot) {
+        BufferItem item = slots[slot];
+        ReentrantLock lock = slotLocks[slot];
+        lock.lock();
+        try {
+            return copy(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static BufferItem copy(BufferItem s) {
+        BufferItem copy = new BufferItem();
+        copy.setValue(s.getValue());
+        copy.setProducerId(s.getProducerId());
+        copy.setConsumerId(s.getConsumerId());
+        copy.setTimestamp(s.getTimestamp());
+        copy.setConsumed(s.isConsumed());
+        copy.setWaitTime(s.getWaitTime());
+        copy.setState(s.getState());
+        return copy;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.producer.buffer;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 缓冲区满/空时生产者、消费者的等待方式
+ * 用版本号避免丢失唤醒：先读 version()，再尝试认领槽位，失败后 await(刚才读到的版本)；
+ * 只要在此期间有 signalAll()，await 就会立即返回
+ */
+public interface WaitStrategy {
+
+    // 当前版本号，每次 signalAll() 加一
+    long version();
+
+    /**
+     * 等待版本号变化（即有槽位状态发生变化），或 running 变为 false
+     * 实现可以提前返回（调用方会重新尝试认领）
+     */
+    void await(long observedVersion, BooleanSupplier running) throws InterruptedException;
+
+    // 一个槽位状态发生变化，至少唤醒一个等待者（只有一个槽位可用，唤醒全部只会让其余线程白醒一次）
+    default void signal() {
+        signalAll();
+    }
+
+    // 唤醒全部等待者（停止模拟时使用）
+    void signalAll();
+}
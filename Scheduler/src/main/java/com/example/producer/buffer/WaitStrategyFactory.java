@@ -0,0 +1,49 @@
+package com.example.producer.buffer;
+
+/**
+ * 根据前端传入的名称创建等待策略
+ * - blocking（默认）：条件变量，槽位状态变化时唤醒
+ * - spin-park：自旋后退避 park
+ * - busy-spin：忙等，延迟最低、CPU 占用最高
+ * - sleep：原有的固定 100ms 休眠
+ */
+public class WaitStrategyFactory {
+
+    public static final String BLOCKING = "blocking";
+    public static final String SPIN_PARK = "spin-park";
+    public static final String BUSY_SPIN = "busy-spin";
+    public static final String SLEEP = "sleep";
+
+    private WaitStrategyFactory() {
+    }
+
+    public static WaitStrategy create(String name) {
+        switch (normalize(name)) {
+            case SPIN_PARK:
+                return new SpinThenParkWaitStrategy();
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            case SLEEP:
+                return new SleepWaitStrategy();
+            case BLOCKING:
+            default:
+                return new BlockingWaitStrategy();
+        }
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return BLOCKING;
+        }
+        switch (name.toLowerCase()) {
+            case SPIN_PARK:
+                return SPIN_PARK;
+            case BUSY_SPIN:
+                return BUSY_SPIN;
+            case SLEEP:
+                return SLEEP;
+            default:
+                return BLOCKING;
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.producer.controller;
 
 import com.example.producer.dto.InitRequestDTO;
+import com.example.producer.dto.ProducerConsumerDeltaDTO;
 import com.example.producer.dto.ProducerConsumerStatusDTO;
 import com.example.producer.model.BufferItem;
 import com.example.producer.service.ProducerConsumerService;
+import com.example.producer.service.ProducerConsumerStreamService;
+import com.example.producer.service.SubscriptionLimitExceededException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
 
 import java.util.List;
 
@@ -17,6 +25,9 @@ public class ProducerConsumerController {
     @Autowired
     private ProducerConsumerService producerConsumerService;
 
+    @Autowired
+    private ProducerConsumerStreamService producerConsumerStreamService;
+
     /**
      * 初始化生产者消费者系统
      * POST /api/producer-consumer/init
@@ -29,7 +40,10 @@ public class ProducerConsumerController {
                 request.getConsumerCount(),
                 request.getSimulationSpeed(),
                 request.getProductionSpeed(),
-                request.getConsumptionSpeed()
+                request.getConsumptionSpeed(),
+                request.getBufferMode(),
+                request.getWaitStrategy(),
+                request.getThreadMode()
         );
         return producerConsumerService.getStatus();
     }
@@ -83,6 +97,58 @@ public class ProducerConsumerController {
         return producerConsumerService.getStatus();
     }
 
+    /**
+     * 获取增量状态：只返回 since 之后变化过的槽位、生产者/消费者与日志
+     * GET /api/producer-consumer/status/delta?since=0
+     */
+    @GetMapping("/status/delta")
+    public ProducerConsumerDeltaDTO statusDelta(@RequestParam(defaultValue = "0") long since) {
+        return producerConsumerService.getStatusDelta(since);
+    }
+
+    /**
+     * 订阅状态推送（Server-Sent Events），替代轮询 /status：按 hz 指定的频率推送增量状态（delta 事件），
+     * 第一帧为全量，之后只在有变化时推送，格式与 /status/delta 相同
+     * GET /api/producer-consumer/status/stream?hz=30
+     */
+    @GetMapping(value = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter statusStream(@RequestParam(required = false) Integer hz) {
+        SseEmitter emitter = new SseEmitter(0L); // 不超时，客户端断开时结束
+        ProducerConsumerStreamService.Subscription subscription = producerConsumerStreamService.subscribe(hz,
+                new ProducerConsumerStreamService.FrameSink() {
+                    @Override
+                    public void send(ProducerConsumerDeltaDTO frame) throws IOException {
+                        emitter.send(SseEmitter.event().name("delta").data(frame, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void heartbeat() throws IOException {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+
+                    @Override
+                    public void fail(Throwable failure) {
+                        emitter.completeWithError(failure);
+                    }
+                });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    // 参数不合法（例如生产者/消费者数量超过所选线程模式的上限）时返回 400 和原因
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
+    // 状态推送的订阅数已达上限时返回 503，前端退回轮询
+    @ExceptionHandler(SubscriptionLimitExceededException.class)
+    public ResponseEntity<String> subscriptionLimitExceeded(SubscriptionLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
     /**
      * 检查是否正在运行
      * GET /api/producer-consumer/is-running
@@ -10,4 +10,7 @@ public class InitRequestDTO {
     private int simulationSpeed;
     private int productionSpeed;
     private int consumptionSpeed;
+    private String bufferMode; // 缓冲区实现：indexed（默认）、ring（无锁环形缓冲区）或 synchronized（原有的加锁扫描实现，作为对比基线）
+    private String waitStrategy; // 缓冲区满/空时的等待策略：blocking（默认）、spin-park、busy-spin 或 sleep
+    private String threadMode; // 生产者/消费者的执行方式：platform（默认）或 virtual（虚拟线程，需要 Java 21）
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.producer.dto;
+
+import com.example.producer.model.BufferItem;
+import com.example.producer.model.Consumer;
+import com.example.producer.model.Producer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 增量状态：只包含 since 之后变化过的槽位、生产者/消费者与新日志
+ * 指针、计数与统计数据很小，每次都完整返回
+ */
+@Data
+@AllArgsConstructor
+public class ProducerConsumerDeltaDTO {
+    private long version; // 下一次查询传入的 since
+    private boolean full; // true 表示这是全量数据，前端应丢弃本地状态
+    private List<SlotChange> buffer;
+    private int headPointer;
+    private int tailPointer;
+    private int itemCount;
+    private int bufferSize;
+    private List<Producer> producers;
+    private List<Consumer> consumers;
+    private ProducerConsumerStatusDTO.Stats stats;
+    private List<String> logs;
+
+    @Data
+    @AllArgsConstructor
+    public static class SlotChange {
+        private int index;
+        private BufferItem item;
+    }
+}
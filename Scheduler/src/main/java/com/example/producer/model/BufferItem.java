@@ -13,12 +13,12 @@ public class BufferItem {
     private long waitTime; // 等待被消费的时间
     private boolean isConsumed; // 是否被消费
     private String consumerId; // 消费者ID
-    private String state; // 状态字段（字符串）
+    private SlotState state; // 槽位状态，JSON 中输出中文名称
     private long remainingTime; // 剩余时间
     @JsonIgnore
-    private final Object slotLock = new Object(); // 每个槽位的单独锁
+    private long completedAtNanos; // 生产完成（变为"已完成"）的时刻，System.nanoTime()
     
     public BufferItem() {
-        this.state = "空"; // 初始状态为空
+        this.state = SlotState.EMPTY; // 初始状态为空
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.producer.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 @Data
@@ -7,6 +8,8 @@ public class Producer {
     private String id;
     private boolean waiting;
     private int itemsProduced;
+    @JsonIgnore
+    private volatile long changeEpoch; // 最近一次变化所在的纪元，用于增量状态查询
 
     public Producer(String id) {
         this.id = id;
@@ -0,0 +1,37 @@
+package com.example.producer.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * 槽位状态：空 → 生产中 → 已完成 → 消费中 → 已消费 → 生产中 …
+ * 缓冲区内部以 code()（即序号）存放在 AtomicIntegerArray 中，状态转换是一次 CAS；
+ * 序列化为 JSON 时输出中文名称，前端仍按原有的字符串判断
+ */
+public enum SlotState {
+    EMPTY("空"),
+    PRODUCING("生产中"),
+    COMPLETED("已完成"),
+    CONSUMING("消费中"),
+    CONSUMED("已消费");
+
+    private static final SlotState[] BY_CODE = values();
+
+    private final String label;
+
+    SlotState(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public int code() {
+        return ordinal();
+    }
+
+    public static SlotState of(int code) {
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.producer.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 生产者/消费者线程的执行方式
+ * - platform（默认）：每个生产者/消费者一个平台线程（固定大小线程池）
+ * - virtual：每个任务一个虚拟线程，用于模拟上万个生产者/消费者
+ * 项目按 Java 17 编译，虚拟线程（Java 21）通过反射获取；运行在不支持虚拟线程的 JVM 上时退回平台线程，
+ * 此时生产者/消费者数量不能超过 MAX_PLATFORM_ACTORS，避免真的创建上万个操作系统线程
+ */
+public class ActorExecutorFactory {
+
+    public static final String PLATFORM = "platform";
+    public static final String VIRTUAL = "virtual";
+
+    // 使用平台线程时，生产者或消费者各自的数量上限
+    public static final int MAX_PLATFORM_ACTORS = 1000;
+
+    // Executors.newVirtualThreadPerTaskExecutor()，不可用时为 null
+    private static final Method VIRTUAL_EXECUTOR = findVirtualExecutor();
+
+    private ActorExecutorFactory() {
+    }
+
+    public static ExecutorService create(String mode, int actorCount) {
+        checkActorCount(mode, actorCount);
+        if (usesVirtualThreads(mode)) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // 预览特性未开启等情况，退回平台线程
+                checkActorCount(PLATFORM, actorCount);
+            }
+        }
+        return Executors.newFixedThreadPool(Math.max(1, actorCount));
+    }
+
+    /**
+     * 检查 actorCount 个生产者（或消费者）能否按该执行方式运行
+     * @throws IllegalArgumentException 需要平台线程且数量超过 MAX_PLATFORM_ACTORS 时
+     */
+    public static void checkActorCount(String mode, int actorCount) {
+        if (actorCount <= MAX_PLATFORM_ACTORS || usesVirtualThreads(mode)) {
+            return;
+        }
+        if (VIRTUAL.equals(normalize(mode))) {
+            throw new IllegalArgumentException("当前 JVM 不支持虚拟线程（需要 Java 21），退回平台线程时生产者/消费者数量不能超过 "
+                    + MAX_PLATFORM_ACTORS + "，实际为 " + actorCount);
+        }
+        throw new IllegalArgumentException("平台线程模式下生产者/消费者数量不能超过 " + MAX_PLATFORM_ACTORS
+                + "，实际为 " + actorCount + "，更多的数量请使用 virtual 模式（需要 Java 21）");
+    }
+
+    public static String normalize(String mode) {
+        return VIRTUAL.equalsIgnoreCase(mode) ? VIRTUAL : PLATFORM;
+    }
+
+    // 当前 JVM 是否支持虚拟线程
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_EXECUTOR != null;
+    }
+
+    private static boolean usesVirtualThreads(String mode) {
+        return VIRTUAL.equals(normalize(mode)) && VIRTUAL_EXECUTOR != null;
+    }
+
+    private static Method findVirtualExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
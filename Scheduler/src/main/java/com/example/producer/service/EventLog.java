@@ -0,0 +1,151 @@
+package com.example.producer.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 固定容量的无锁操作日志：写入时只记录结构化事件（类型、生产者/消费者、槽位、物品值、nanoTime），
+ * 读取 /status 时才格式化成字符串
+ * 写入者用 getAndIncrement 取得序号、写入 序号 % 容量 的位置，旧事件被直接覆盖；
+ * 事件对象不可变，读取时按序号校验，跳过已被覆盖或尚未写入的位置
+ * 每个事件还带有写入时的纪元（见 StatusChangeTracker），增量查询只返回纪元 >= since 的事件
+ */
+public class EventLog {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    public enum Type {
+        MESSAGE,            // 任意文本
+        PRODUCER_WAITING,   // 因为没有可用槽位进入等待状态
+        PRODUCE_STARTED,    // 在槽位开始生产
+        PRODUCE_COMPLETED,  // 在槽位完成了物品
+        PRODUCE_RESUMED,    // 在槽位完成了之前未完成的物品
+        CONSUMER_WAITING,   // 因为没有已完成的物品进入等待状态
+        CONSUME_STARTED,    // 在槽位开始消费物品
+        CONSUME_COMPLETED   // 在槽位消费完成物品
+    }
+
+    private static final class Event {
+        final long sequence;
+        final long epoch;
+        final long nanoTime;
+        final Type type;
+        final String actor;
+        final int slot;
+        final int value;
+        final String text;
+
+        Event(long sequence, long epoch, long nanoTime, Type type, String actor, int slot, int value, String text) {
+            this.sequence = sequence;
+            this.epoch = epoch;
+            this.nanoTime = nanoTime;
+            this.type = type;
+            this.actor = actor;
+            this.slot = slot;
+            this.value = value;
+            this.text = text;
+        }
+    }
+
+    private final AtomicReferenceArray<Event> events;
+    private final StatusChangeTracker changes;
+    private final AtomicLong nextSequence = new AtomicLong();
+    // 用于把 nanoTime 换算成墙上时间
+    private final long baseEpochMillis = System.currentTimeMillis();
+    private final long baseNanoTime = System.nanoTime();
+
+    public EventLog(int capacity, StatusChangeTracker changes) {
+        events = new AtomicReferenceArray<>(capacity);
+        this.changes = changes;
+    }
+
+    public void add(Type type, String actor, int slot, int value) {
+        append(type, actor, slot, value, null);
+    }
+
+    public void add(String message) {
+        append(Type.MESSAGE, null, -1, 0, message);
+    }
+
+    private void append(Type type, String actor, int slot, int value, String text) {
+        long sequence = nextSequence.getAndIncrement();
+        int cell = (int) (sequence % events.length());
+        long nanoTime = System.nanoTime();
+        // 与 StatusChangeTracker 的标记方式相同：写入后纪元若已变化，用新纪元重写（极少发生）
+        long epoch = changes.epoch();
+        while (true) {
+            events.set(cell, new Event(sequence, epoch, nanoTime, type, actor, slot, value, text));
+            long now = changes.epoch();
+            if (now == epoch) {
+                return;
+            }
+            epoch = now;
+        }
+    }
+
+    // 按时间顺序渲染当前保留的事件（最多 capacity 条）
+    public List<String> render() {
+        return render(Long.MIN_VALUE);
+    }
+
+    // 只渲染纪元 >= since 的事件
+    public List<String> render(long since) {
+        long end = nextSequence.get();
+        long start = Math.max(0, end - events.length());
+        List<String> lines = new ArrayList<>((int) (end - start));
+        StringBuilder line = new StringBuilder(64);
+        for (long sequence = start; sequence < end; sequence++) {
+            Event event = events.get((int) (sequence % events.length()));
+            if (event == null || event.sequence != sequence) {
+                continue; // 尚未写完，或已被更新的事件覆盖
+            }
+            if (event.epoch < since) {
+                continue;
+            }
+            line.setLength(0);
+            long epochMillis = baseEpochMillis + TimeUnit.NANOSECONDS.toMillis(event.nanoTime - baseNanoTime);
+            line.append('[');
+            TIME_FORMAT.formatTo(Instant.ofEpochMilli(epochMillis), line);
+            line.append("] ");
+            describe(event, line);
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private static void describe(Event event, StringBuilder line) {
+        switch (event.type) {
+            case PRODUCER_WAITING:
+                line.append(event.actor).append(" 因为没有可用槽位进入等待状态");
+                break;
+            case PRODUCE_STARTED:
+                line.append(event.actor).append(" 在槽位 ").append(event.slot).append(" 开始生产");
+                break;
+            case PRODUCE_COMPLETED:
+                line.append(event.actor).append(" 在槽位 ").append(event.slot).append(" 完成了物品 ").append(event.value);
+                break;
+            case PRODUCE_RESUMED:
+                line.append(event.actor).append(" 在槽位 ").append(event.slot).append(" 完成了之前未完成的物品 ").append(event.value);
+                break;
+            case CONSUMER_WAITING:
+                line.append(event.actor).append(" 因为没有已完成的物品进入等待状态");
+                break;
+            case CONSUME_STARTED:
+                line.append(event.actor).append(" 在槽位 ").append(event.slot).append(" 开始消费物品 ").append(event.value);
+                break;
+            case CONSUME_COMPLETED:
+                line.append(event.actor).append(" 在槽位 ").append(event.slot).append(" 消费完成物品 ").append(event.value);
+                break;
+            case MESSAGE:
+            default:
+                line.append(event.text);
+                break;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.producer.service;
+
+import com.example.producer.model.Consumer;
+import com.example.producer.model.Producer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 生产者消费者的 Micrometer 指标，发布到 /actuator/metrics 与 /actuator/prometheus
+ * 计数器、计时器都是 Micrometer 自带的分段累加实现（DoubleAdder/LongAdder），各线程写入互不争用，可以常开；
+ * 生产者/消费者各自的吞吐量直接读取 Producer/Consumer 上已有的计数，不额外记录
+ */
+public class ProducerConsumerMetrics {
+
+    // 单个生产者/消费者的指标只为前 MAX_ACTOR_METERS 个注册，避免上万个生产者时指标数量失控
+    static final int MAX_ACTOR_METERS = 64;
+
+    private final MeterRegistry registry;
+    private final Counter produced;
+    private final Counter consumed;
+    private final Counter bufferFull;
+    private final Counter bufferEmpty;
+    private final Timer producerClaimWait;
+    private final Timer consumerClaimWait;
+    private final Timer producerAwait;
+    private final Timer consumerAwait;
+    private final Timer producingTime;
+    private final Timer completedTime;
+    private final Timer consumingTime;
+    private final List<Meter> actorMeters = new ArrayList<>();
+
+    public ProducerConsumerMetrics(MeterRegistry registry, Supplier<Number> occupancy, Supplier<Number> capacity) {
+        this.registry = registry;
+        produced = Counter.builder("producer.consumer.items.produced")
+                .description("生产完成的物品数").register(registry);
+        consumed = Counter.builder("producer.consumer.items.consumed")
+                .description("消费完成的物品数").register(registry);
+        bufferFull = Counter.builder("producer.consumer.buffer.waits").tag("reason", "full")
+                .description("生产者因缓冲区满而等待的次数").register(registry);
+        bufferEmpty = Counter.builder("producer.consumer.buffer.waits").tag("reason", "empty")
+                .description("消费者因缓冲区空而等待的次数").register(registry);
+        Gauge.builder("producer.consumer.buffer.occupancy", occupancy)
+                .description("已完成、尚未消费完的物品数").register(registry);
+        Gauge.builder("producer.consumer.buffer.capacity", capacity)
+                .description("缓冲区槽位数").register(registry);
+
+        producerClaimWait = claimTimer(registry, "producer", "从第一次尝试到认领到可生产槽位的时间");
+        consumerClaimWait = claimTimer(registry, "consumer", "从第一次尝试到认领到已完成槽位的时间");
+        producerAwait = awaitTimer(registry, "producer");
+        consumerAwait = awaitTimer(registry, "consumer");
+        producingTime = stateTimer(registry, "producing");
+        completedTime = stateTimer(registry, "completed");
+        consumingTime = stateTimer(registry, "consuming");
+    }
+
+    private static Timer claimTimer(MeterRegistry registry, String role, String description) {
+        return Timer.builder("producer.consumer.slot.claim.wait").tag("role", role)
+                .description(description).publishPercentileHistogram().register(registry);
+    }
+
+    private static Timer awaitTimer(MeterRegistry registry, String role) {
+        return Timer.builder("producer.consumer.wait.strategy.await").tag("role", role)
+                .description("在等待策略（条件变量/自旋/休眠）中阻塞的时间").publishPercentileHistogram().register(registry);
+    }
+
+    private static Timer stateTimer(MeterRegistry registry, String state) {
+        return Timer.builder("producer.consumer.slot.state.time").tag("state", state)
+                .description("槽位停留在各状态的时间").publishPercentileHistogram().register(registry);
+    }
+
+    // 重新创建生产者/消费者时替换各自的吞吐量指标
+    public void bindActors(List<Producer> producers, List<Consumer> consumers) {
+        for (Meter meter : actorMeters) {
+            registry.remove(meter);
+        }
+        actorMeters.clear();
+        for (int i = 0; i < Math.min(producers.size(), MAX_ACTOR_METERS); i++) {
+            Producer producer = producers.get(i);
+            actorMeters.add(FunctionCounter.builder("producer.consumer.actor.items", producer, Producer::getItemsProduced)
+                    .tag("role", "producer").tag("actor", producer.getId())
+                    .description("单个生产者/消费者处理的物品数").register(registry));
+        }
+        for (int i = 0; i < Math.min(consumers.size(), MAX_ACTOR_METERS); i++) {
+            Consumer consumer = consumers.get(i);
+            actorMeters.add(FunctionCounter.builder("producer.consumer.actor.items", consumer, Consumer::getItemsConsumed)
+                    .tag("role", "consumer").tag("actor", consumer.getId())
+                    .description("单个生产者/消费者处理的物品数").register(registry));
+        }
+    }
+
+    public void produced() {
+        produced.increment();
+    }
+
+    public void consumed() {
+        consumed.increment();
+    }
+
+    public void bufferFull() {
+        bufferFull.increment();
+    }
+
+    public void bufferEmpty() {
+        bufferEmpty.increment();
+    }
+
+    public void producerClaimed(long waitNanos) {
+        producerClaimWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void consumerClaimed(long waitNanos) {
+        consumerClaimWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void producerAwaited(long nanos) {
+        producerAwait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void consumerAwaited(long nanos) {
+        consumerAwait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void producing(long nanos) {
+        producingTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void completed(long nanos) {
+        completedTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void consuming(long nanos) {
+        consumingTime.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
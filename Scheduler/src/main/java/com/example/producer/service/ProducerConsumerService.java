@@ -1,25 +1,47 @@
 package com.example.producer.service;
 
+import com.example.producer.buffer.SlotBuffer;
+import com.example.producer.buffer.SlotBufferFactory;
+import com.example.producer.buffer.WaitStrategy;
+import com.example.producer.buffer.WaitStrategyFactory;
+import com.example.producer.dto.ProducerConsumerDeltaDTO;
 import com.example.producer.dto.ProducerConsumerStatusDTO;
 import com.example.producer.model.BufferItem;
 import com.example.producer.model.Consumer;
 import com.example.producer.model.Producer;
+import com.example.producer.model.SlotState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class ProducerConsumerService {
-    // 替换原来的 ConcurrentLinkedQueue，实现基于槽位的缓冲区
-    private BufferItem[] bufferSlots;      // 固定大小的槽位数组，槽位永远存在（不会为 null）
+    // 缓冲区大小上限：indexed/ring 模式的槽位认领是 O(1) 的，上限只受内存约束（每个槽位约 60 字节）；
+    // synchronized 模式每次认领最坏扫描整个缓冲区，只适合较小的缓冲区
+    public static final int MAX_BUFFER_SIZE = 1 << 22;
+    private static final int MAX_LOGS = 50;
+
+    // 替换原来的 ConcurrentLinkedQueue，实现基于槽位的缓冲区，具体实现由 bufferMode 决定（见 SlotBufferFactory）
+    private volatile SlotBuffer buffer = SlotBufferFactory.create(SlotBufferFactory.INDEXED, 0);
+    private String bufferMode = SlotBufferFactory.INDEXED;
+    // 缓冲区满/空时的等待策略：生产者在 notFull 上等待槽位被消费，消费者在 notEmpty 上等待物品生产完成
+    private volatile WaitStrategy notFull = WaitStrategyFactory.create(WaitStrategyFactory.BLOCKING);
+    private volatile WaitStrategy notEmpty = WaitStrategyFactory.create(WaitStrategyFactory.BLOCKING);
+    private String waitStrategy = WaitStrategyFactory.BLOCKING;
+    private String threadMode = ActorExecutorFactory.PLATFORM; // 生产者/消费者的执行方式：platform 或 virtual
     private final Object lock = new Object();
 
     private int bufferSize;
-    private List<Producer> producers;
-    private List<Consumer> consumers;
+    // 生产者/消费者列表在 init/reset 时整体替换（创建好之后再发布），状态查询不加锁直接读取
+    private volatile List<Producer> producers = new ArrayList<>();
+    private volatile List<Consumer> consumers = new ArrayList<>();
     private AtomicInteger nextItemValue = new AtomicInteger(1);
     private volatile boolean isRunning;
     private int simulationSpeed;
@@ -27,17 +49,58 @@ public class ProducerConsumerService {
     private int consumptionSpeed; // 消费速度，单位毫秒，范围1000-5000
     private ExecutorService producerThreadPool;
     private ExecutorService consumerThreadPool;
-    private List<String> operationLogs;
-    private AtomicInteger totalProduced = new AtomicInteger(0);
-    private AtomicInteger totalConsumed = new AtomicInteger(0);
-    private AtomicInteger bufferFullCount = new AtomicInteger(0);
-    private AtomicInteger bufferEmptyCount = new AtomicInteger(0);
+    private final StatusChangeTracker changes = new StatusChangeTracker(); // 增量状态查询用的变化标记
+    private volatile EventLog operationLogs = new EventLog(MAX_LOGS, changes); // 只保留最近 MAX_LOGS 条
+    // 每个物品都要更新的统计用 LongAdder，多线程累加互不争用
+    private final LongAdder totalProduced = new LongAdder();
+    private final LongAdder totalConsumed = new LongAdder();
+    private final LongAdder bufferFullCount = new LongAdder();
+    private final LongAdder bufferEmptyCount = new LongAdder();
     // itemCount 表示当前处于 "已完成" 或 "消费中" 或 "生产中" 的有效物品计数（这里我们将它维护为：生产完成时 +1，消费完成时 -1）
     private AtomicInteger itemCount = new AtomicInteger(0);
     private List<BufferItem> consumedItemsHistory = Collections.synchronizedList(new ArrayList<>()); // 已消费物品历史记录
+    private volatile HandoffListener handoffListener; // 交接延迟观察者，默认不启用
+    private final ProducerConsumerMetrics metrics;
+
+    /**
+     * 交接延迟观察者（压测用）：物品从"已完成"到被消费者取走所经过的时间
+     */
+    @FunctionalInterface
+    public interface HandoffListener {
+        void onHandoff(long latencyNanos);
+    }
+
+    @Autowired
+    public ProducerConsumerService(MeterRegistry meterRegistry) {
+        metrics = new ProducerConsumerMetrics(meterRegistry, itemCount::get, () -> buffer.capacity());
+    }
+
+    // 不在 Spring 容器中使用时（测试、压测），指标记录到本地的 SimpleMeterRegistry
+    public ProducerConsumerService() {
+        this(new SimpleMeterRegistry());
+    }
 
     // 初始化系统
     public synchronized void init(int bufferSize, int producerCount, int consumerCount, int simulationSpeed, int productionSpeed, int consumptionSpeed) {
+        init(bufferSize, producerCount, consumerCount, simulationSpeed, productionSpeed, consumptionSpeed, SlotBufferFactory.INDEXED);
+    }
+
+    // 初始化系统，bufferMode 选择缓冲区实现：indexed（默认）、ring（无锁环形缓冲区）或 synchronized（原有的加锁扫描实现）
+    public synchronized void init(int bufferSize, int producerCount, int consumerCount, int simulationSpeed, int productionSpeed, int consumptionSpeed, String bufferMode) {
+        init(bufferSize, producerCount, consumerCount, simulationSpeed, productionSpeed, consumptionSpeed, bufferMode, WaitStrategyFactory.BLOCKING);
+    }
+
+    public synchronized void init(int bufferSize, int producerCount, int consumerCount, int simulationSpeed, int productionSpeed, int consumptionSpeed, String bufferMode, String waitStrategy) {
+        init(bufferSize, producerCount, consumerCount, simulationSpeed, productionSpeed, consumptionSpeed, bufferMode, waitStrategy, ActorExecutorFactory.PLATFORM);
+    }
+
+    // 初始化系统，waitStrategy 选择缓冲区满/空时的等待方式：blocking（默认）、spin-park、busy-spin 或 sleep；
+    // threadMode 选择生产者/消费者的执行方式：platform（默认，每个一个平台线程）或 virtual（虚拟线程）
+    public synchronized void init(int bufferSize, int producerCount, int consumerCount, int simulationSpeed, int productionSpeed, int consumptionSpeed, String bufferMode, String waitStrategy, String threadMode) {
+        // 先校验，数量超出所选执行方式能承受的范围时不改动当前状态
+        ActorExecutorFactory.checkActorCount(threadMode, producerCount);
+        ActorExecutorFactory.checkActorCount(threadMode, consumerCount);
+
         // 停止之前的模拟（如果有）
         stopSimulation();
 
@@ -46,149 +109,140 @@ public class ProducerConsumerService {
         this.simulationSpeed = simulationSpeed;
         this.productionSpeed = productionSpeed;
         this.consumptionSpeed = consumptionSpeed;
+        this.bufferMode = SlotBufferFactory.normalize(bufferMode);
+
+        this.waitStrategy = WaitStrategyFactory.normalize(waitStrategy);
+        this.threadMode = ActorExecutorFactory.normalize(threadMode);
 
         // 初始化槽位（初始为 "空"）
-        bufferSlots = new BufferItem[bufferSize];
-        for (int i = 0; i < bufferSize; i++) {
-            BufferItem slot = new BufferItem();
-            // 初始化槽位状态为 "空"
-            slot.setState("空");
-            // 其它字段保持默认（value=0, producerId=null 等）
-            bufferSlots[i] = slot;
-        }
+        buffer = SlotBufferFactory.create(this.bufferMode, bufferSize);
+        notFull = WaitStrategyFactory.create(this.waitStrategy);
+        notEmpty = WaitStrategyFactory.create(this.waitStrategy);
 
         // 初始化其他数据结构
-        producers = new ArrayList<>();
-        consumers = new ArrayList<>();
-        operationLogs = Collections.synchronizedList(new ArrayList<>());
+        changes.reset(bufferSize);
+        operationLogs = new EventLog(MAX_LOGS, changes);
         consumedItemsHistory.clear(); // 清空历史记录
 
         // 重置计数器
         nextItemValue.set(1);
-        totalProduced.set(0);
-        totalConsumed.set(0);
-        bufferFullCount.set(0);
-        bufferEmptyCount.set(0);
+        totalProduced.reset();
+        totalConsumed.reset();
+        bufferFullCount.reset();
+        bufferEmptyCount.reset();
         itemCount.set(0);
-        
-        // 清空生产者和消费者索引映射
-        producerCurrentSlotIndex.clear();
-        consumerCurrentSlotIndex.clear();
 
         // 创建生产者
+        List<Producer> newProducers = new ArrayList<>(producerCount);
         for (int i = 1; i <= producerCount; i++) {
             Producer producer = new Producer("P" + i);
             producer.setWaiting(true); // 覆盖构造函数中的默认值
-            producers.add(producer);
+            newProducers.add(producer);
         }
 
         // 创建消费者
+        List<Consumer> newConsumers = new ArrayList<>(consumerCount);
         for (int i = 1; i <= consumerCount; i++) {
             Consumer consumer = new Consumer("C" + i);
             consumer.setWaiting(true); // 覆盖构造函数中的默认值
-            consumers.add(consumer);
+            newConsumers.add(consumer);
         }
+        producers = newProducers;
+        consumers = newConsumers;
+        metrics.bindActors(newProducers, newConsumers);
 
-        addLog("系统已初始化: 缓冲区大小=" + bufferSize + ", 生产者数量=" + producerCount + ", 消费者数量=" + consumerCount);
+        addLog("系统已初始化: 缓冲区大小=" + bufferSize + ", 生产者数量=" + producerCount + ", 消费者数量=" + consumerCount + ", 缓冲区模式=" + this.bufferMode + ", 等待策略=" + this.waitStrategy + ", 线程模式=" + this.threadMode);
+        if (ActorExecutorFactory.VIRTUAL.equals(this.threadMode) && !ActorExecutorFactory.isVirtualThreadSupported()) {
+            addLog("当前 JVM 不支持虚拟线程，使用平台线程运行");
+        }
     }
 
     // 重置系统
     public synchronized void reset() {
         stopSimulation();
-        
-        // 如果已有槽位，先为每个槽位加锁并重置
-        if (bufferSlots != null) {
-            for (BufferItem slot : bufferSlots) {
-                if (slot != null) {
-                    synchronized (slot.getSlotLock()) {
-                        // 确保槽位被正确清理
-                    }
-                }
-            }
-        }
-        
-        // 保持 bufferSize 原来的设置，仅重置槽位为 "空"
-        if (bufferSize > 0) {
-            bufferSlots = new BufferItem[bufferSize];
-            for (int i = 0; i < bufferSize; i++) {
-                BufferItem slot = new BufferItem();
-                slot.setState("空");
-                bufferSlots[i] = slot;
-            }
-        } else {
-            bufferSlots = new BufferItem[0];
-        }
+
+        // 保持 bufferSize 与缓冲区模式原来的设置，重新创建槽位（全部为 "空"），旧槽位随旧缓冲区一起丢弃
+        buffer = SlotBufferFactory.create(bufferMode, Math.max(bufferSize, 0));
+        notFull = WaitStrategyFactory.create(waitStrategy);
+        notEmpty = WaitStrategyFactory.create(waitStrategy);
 
         producers = new ArrayList<>();
         consumers = new ArrayList<>();
+        metrics.bindActors(producers, consumers);
         nextItemValue.set(1);
         isRunning = false;
         simulationSpeed = 1000;
         productionSpeed = 5000;  // 默认生产速度5秒
         consumptionSpeed = 5000; // 默认消费速度5秒
-        operationLogs = Collections.synchronizedList(new ArrayList<>());
-        totalProduced.set(0);
-        totalConsumed.set(0);
-        bufferFullCount.set(0);
-        bufferEmptyCount.set(0);
+        changes.reset(Math.max(bufferSize, 0));
+        operationLogs = new EventLog(MAX_LOGS, changes);
+        totalProduced.reset();
+        totalConsumed.reset();
+        bufferFullCount.reset();
+        bufferEmptyCount.reset();
         itemCount.set(0);
         consumedItemsHistory.clear(); // 清空历史记录
-        producerCurrentSlotIndex.clear(); // 清空生产者槽位索引映射，确保重置后从第一个槽位开始
     }
 
     // 生产者线程的运行方法（占位式生产）
     private void runProducer(Producer producer) {
+        boolean waitLogged = false; // 一次连续等待只记一条日志
+        long claimStarted = 0; // 本次认领第一次尝试的时刻，0 表示尚未开始
         while (isRunning) {
             try {
-                // 尝试找到可用于生产的槽位（"空" 或 "已消费"），使用循环选择策略
-                BufferItem slot = findSlotForProduction(producer);
-                if (slot == null) {
-                    // 没有可用槽位，记录等待并短暂休眠
-                    producer.setWaiting(true);
-                    addLog(producer.getId() + " 因为没有可用槽位进入等待状态");
-                    bufferFullCount.incrementAndGet();
-                    Thread.sleep(100);
+                if (claimStarted == 0) {
+                    claimStarted = System.nanoTime();
+                }
+                // 本轮使用的缓冲区与等待策略（init/reset 会替换它们，旧线程只会操作旧缓冲区）
+                SlotBuffer slots = buffer;
+                WaitStrategy slotFreed = notFull;
+                // 先读版本号再认领，认领失败后等待期间的任何消费完成都能唤醒本线程
+                long observedVersion = slotFreed.version();
+                // 尝试认领可用于生产的槽位（"空" 或 "已消费" → "生产中"），认领时分配物品值
+                int slotIndex = slots.tryClaimProduction(producer.getId(), nextItemValue::getAndIncrement);
+                if (slotIndex < 0) {
+                    // 没有可用槽位，记录等待并等到有槽位被消费
+                    setWaiting(producer, true);
+                    if (!waitLogged) {
+                        operationLogs.add(EventLog.Type.PRODUCER_WAITING, producer.getId(), -1, 0);
+                        waitLogged = true;
+                    }
+                    bufferFullCount.increment();
+                    metrics.bufferFull();
+                    long awaitStarted = System.nanoTime();
+                    slotFreed.await(observedVersion, this::isRunning);
+                    metrics.producerAwaited(System.nanoTime() - awaitStarted);
                     continue;
                 }
 
-                producer.setWaiting(false);
+                long claimed = System.nanoTime();
+                metrics.producerClaimed(claimed - claimStarted);
+                claimStarted = 0;
+                setWaiting(producer, false);
+                waitLogged = false;
+                changes.markSlot(slotIndex);
+                int itemValue = slots.getValue(slotIndex);
+                operationLogs.add(EventLog.Type.PRODUCE_STARTED, producer.getId(), slotIndex, itemValue);
 
-                // 在findSlotForProduction中已设置槽位状态和生产者信息，此处不再重复
-
-                // 再次检查槽位状态，确保没有被其他生产者抢占
-                synchronized (slot.getSlotLock()) {
-                    if (!"生产中".equals(slot.getState()) || !producer.getId().equals(slot.getProducerId())) {
-                        continue;
-                    }
-                    
-                    // 分配物品值
-                    int itemValue = nextItemValue.getAndIncrement();
-                    slot.setValue(itemValue);
-                }
-                
-                // 获取槽位索引用于后续日志
-                int slotIndex = getSlotIndex(slot);
-                
                 // 模拟生产时长（生产期间占据槽位）
                 Thread.sleep(getProductionDelay());
 
                 // 生产完成，标记为 "已完成" 并统计
-                synchronized (slot.getSlotLock()) {
-                    if (slot.getProducerId() != null && producer.getId().equals(slot.getProducerId()) && "生产中".equals(slot.getState())) {
-                        int finalItemValue = slot.getValue(); // 获取最终的物品值
-                        slot.setState("已完成");
-                        // 生产完成时，视为一个可被消费的物品，计数 +1
-                        itemCount.incrementAndGet();
-                        
-                        // 获取槽位索引用于日志
-                        addLog(producer.getId() + " 在槽位 " + slotIndex + " 完成了物品 " + finalItemValue);
-                    }
+                if (slots.completeProduction(slotIndex, producer.getId())) {
+                    changes.markSlot(slotIndex);
+                    notEmpty.signal();
+                    metrics.producing(slots.getCompletedAtNanos(slotIndex) - claimed);
+                    // 生产完成时，视为一个可被消费的物品，计数 +1
+                    itemCount.incrementAndGet();
+                    operationLogs.add(EventLog.Type.PRODUCE_COMPLETED, producer.getId(), slotIndex, itemValue);
                 }
 
-                totalProduced.incrementAndGet();
+                totalProduced.increment();
+                metrics.produced();
                 synchronized (producer) {
                     producer.setItemsProduced(producer.getItemsProduced() + 1);
                 }
+                changes.markProducer(producer);
 
                 // 生产者循环继续（不强制休眠，避免占用过高 CPU；如果需要节拍可加短 sleep）
                 Thread.yield();
@@ -203,80 +257,83 @@ public class ProducerConsumerService {
         }
 
         // 线程结束时设置为等待状态
-        producer.setWaiting(true);
+        setWaiting(producer, true);
     }
 
     // 消费者线程的运行方法
     private void runConsumer(Consumer consumer) {
+        boolean waitLogged = false;
+        long claimStarted = 0;
         while (isRunning) {
             try {
-                // 查找已完成的槽位
-                BufferItem slot = findCompletedSlot(consumer);
-                if (slot == null) {
-                    consumer.setWaiting(true);
-                    addLog(consumer.getId() + " 因为没有已完成的物品进入等待状态");
-                    bufferEmptyCount.incrementAndGet();
-                    Thread.sleep(100);
-                    continue;
+                if (claimStarted == 0) {
+                    claimStarted = System.nanoTime();
                 }
-
-                consumer.setWaiting(false);
-
-                synchronized (slot.getSlotLock()) {
-                    // 再次检查槽位状态，确保没有被其他消费者抢占
-                    if (!"已完成".equals(slot.getState())) {
-                        continue;
+                SlotBuffer slots = buffer;
+                WaitStrategy itemCompleted = notEmpty;
+                long observedVersion = itemCompleted.version();
+                // 认领已完成的槽位（"已完成" → "消费中"）
+                int slotIndex = slots.tryClaimConsumption(consumer.getId());
+                if (slotIndex < 0) {
+                    setWaiting(consumer, true);
+                    if (!waitLogged) {
+                        operationLogs.add(EventLog.Type.CONSUMER_WAITING, consumer.getId(), -1, 0);
+                        waitLogged = true;
                     }
+                    bufferEmptyCount.increment();
+                    metrics.bufferEmpty();
+                    long awaitStarted = System.nanoTime();
+                    itemCompleted.await(observedVersion, this::isRunning);
+                    metrics.consumerAwaited(System.nanoTime() - awaitStarted);
+                    continue;
+                }
 
-                    // 标记为消费中并记录消费者 id
-                    slot.setState("消费中");
-                    slot.setConsumerId(consumer.getId());
-
-                    // 获取槽位索引用于日志
-                    int slotIndex = getSlotIndex(slot);
-                    addLog(consumer.getId() + " 在槽位 " + slotIndex + " 开始消费物品 " + slot.getValue());
+                long claimed = System.nanoTime();
+                metrics.consumerClaimed(claimed - claimStarted);
+                claimStarted = 0;
+                setWaiting(consumer, false);
+                waitLogged = false;
+                changes.markSlot(slotIndex);
+                // 槽位停留在"已完成"的时间即交接延迟
+                long handoffNanos = claimed - slots.getCompletedAtNanos(slotIndex);
+                metrics.completed(handoffNanos);
+                HandoffListener listener = handoffListener;
+                if (listener != null) {
+                    listener.onHandoff(handoffNanos);
                 }
+                int itemValue = slots.getValue(slotIndex);
+                operationLogs.add(EventLog.Type.CONSUME_STARTED, consumer.getId(), slotIndex, itemValue);
 
                 // 模拟消费时长（消费中保留槽位但状态为 "消费中"）
                 Thread.sleep(getConsumptionDelay());
 
-                synchronized (slot.getSlotLock()) {
-                    // 再次检查槽位状态
-                    if (slot.getConsumerId() != null && "消费中".equals(slot.getState())) {
-                        // 消费完成后标记为 "已消费"（不清空槽位，等待下次生产覆盖）
-                        slot.setConsumed(true);
-                        slot.setWaitTime(java.time.Duration.between(slot.getTimestamp(), LocalDateTime.now()).toMillis());
-                        slot.setState("已消费");
-                        // 项目已被消费，从"已完成"池中移除，计数 -1
-                        itemCount.decrementAndGet();
-                    }
-
-                    // 获取槽位索引用于日志
-                    int slotIndex = getSlotIndex(slot);
-                    addLog(consumer.getId() + " 在槽位 " + slotIndex + " 消费完成物品 " + slot.getValue());
+                // 消费完成后标记为 "已消费"（不清空槽位，等待下次生产覆盖），返回的是槽位副本
+                BufferItem consumedItemCopy = slots.completeConsumption(slotIndex, consumer.getId());
+                if (consumedItemCopy != null) {
+                    changes.markSlot(slotIndex);
+                    notFull.signal();
+                    metrics.consuming(System.nanoTime() - claimed);
+                    // 项目已被消费，从"已完成"池中移除，计数 -1
+                    itemCount.decrementAndGet();
                 }
-
-                // 保存到已消费历史（需要创建副本，避免引用冲突）
-                synchronized (lock) {
-                    BufferItem consumedItemCopy = new BufferItem();
-                    consumedItemCopy.setValue(slot.getValue());
-                    consumedItemCopy.setProducerId(slot.getProducerId());
-                    consumedItemCopy.setConsumerId(slot.getConsumerId());
-                    consumedItemCopy.setTimestamp(slot.getTimestamp());
-                    consumedItemCopy.setWaitTime(slot.getWaitTime());
-                    consumedItemCopy.setConsumed(true);
-                    consumedItemCopy.setState("已消费");
-                    
-                    consumedItemsHistory.add(consumedItemCopy);
-                    if (consumedItemsHistory.size() > 50) {
-                        consumedItemsHistory.remove(0);
+                operationLogs.add(EventLog.Type.CONSUME_COMPLETED, consumer.getId(), slotIndex, itemValue);
+
+                // 保存到已消费历史
+                if (consumedItemCopy != null) {
+                    synchronized (lock) {
+                        consumedItemsHistory.add(consumedItemCopy);
+                        if (consumedItemsHistory.size() > 50) {
+                            consumedItemsHistory.remove(0);
+                        }
                     }
                 }
 
-                totalConsumed.incrementAndGet();
+                totalConsumed.increment();
+                metrics.consumed();
                 synchronized (consumer) {
                     consumer.setItemsConsumed(consumer.getItemsConsumed() + 1);
                 }
+                changes.markConsumer(consumer);
 
                 Thread.yield();
 
@@ -288,17 +345,22 @@ public class ProducerConsumerService {
             }
         }
 
-        consumer.setWaiting(true);
+        setWaiting(consumer, true);
     }
-    
-    // 获取槽位在数组中的索引位置
-    private int getSlotIndex(BufferItem slot) {
-        for (int i = 0; i < bufferSlots.length; i++) {
-            if (bufferSlots[i] == slot) {
-                return i;
-            }
+
+    // 等待状态发生变化时才修改并标记，避免等待循环中反复标记
+    private void setWaiting(Producer producer, boolean waiting) {
+        if (producer.isWaiting() != waiting) {
+            producer.setWaiting(waiting);
+            changes.markProducer(producer);
+        }
+    }
+
+    private void setWaiting(Consumer consumer, boolean waiting) {
+        if (consumer.isWaiting() != waiting) {
+            consumer.setWaiting(waiting);
+            changes.markConsumer(consumer);
         }
-        return -1; // 不应该发生
     }
 
     // 开始模拟
@@ -308,8 +370,8 @@ public class ProducerConsumerService {
         isRunning = true;
 
         // 创建线程池
-        producerThreadPool = Executors.newFixedThreadPool(Math.max(1, producers.size()));
-        consumerThreadPool = Executors.newFixedThreadPool(Math.max(1, consumers.size()));
+        producerThreadPool = ActorExecutorFactory.create(threadMode, producers.size());
+        consumerThreadPool = ActorExecutorFactory.create(threadMode, consumers.size());
 
         // 启动生产者线程
         for (Producer producer : producers) {
@@ -329,6 +391,9 @@ public class ProducerConsumerService {
         if (!isRunning) return;
 
         isRunning = false;
+        // 唤醒所有等待中的生产者/消费者，让它们看到 isRunning=false 后退出
+        notFull.signalAll();
+        notEmpty.signalAll();
 
         // 尝试优雅关闭线程池（不强制中断正在执行的任务）
         if (producerThreadPool != null) {
@@ -342,13 +407,13 @@ public class ProducerConsumerService {
         // 设置所有生产者和消费者为等待状态
         if (producers != null) {
             for (Producer producer : producers) {
-                producer.setWaiting(true);
+                setWaiting(producer, true);
             }
         }
 
         if (consumers != null) {
             for (Consumer consumer : consumers) {
-                consumer.setWaiting(true);
+                setWaiting(consumer, true);
             }
         }
 
@@ -362,57 +427,57 @@ public class ProducerConsumerService {
         isRunning = true;
 
         // 创建新的线程池
-        producerThreadPool = Executors.newFixedThreadPool(Math.max(1, producers.size()));
-        consumerThreadPool = Executors.newFixedThreadPool(Math.max(1, consumers.size()));
+        producerThreadPool = ActorExecutorFactory.create(threadMode, producers.size());
+        consumerThreadPool = ActorExecutorFactory.create(threadMode, consumers.size());
 
         // 使用一个集合来跟踪已经为其创建线程的生产者
         Set<String> processedProducers = new HashSet<>();
         
         // 首先完成正在生产中的物品
-        for (int i = 0; i < bufferSlots.length; i++) {
+        SlotBuffer slots = buffer;
+        for (int i = 0; i < slots.capacity(); i++) {
             final int slotIndex = i;
-            BufferItem slot = bufferSlots[i];
-            
-            synchronized (slot.getSlotLock()) {
-                if (slot != null && "生产中".equals(slot.getState()) && slot.getProducerId() != null) {
-                    // 找到对应的生产者
-                    for (Producer producer : producers) {
-                        if (producer.getId().equals(slot.getProducerId())) {
-                            final Producer assignedProducer = producer;
-                            final int itemValue = slot.getValue();
-                            
-                            // 标记此生产者已处理，避免重复创建线程
-                            processedProducers.add(producer.getId());
-                            
-                            // 提交到线程池继续完成生产，完成后自动进入正常生产循环
-                            producerThreadPool.submit(() -> {
-                                try {
-                                    // 继续完成生产
-                                    Thread.sleep(getProductionDelay());
-                                    
-                                    synchronized (slot.getSlotLock()) {
-                                        // 再次检查状态，确保槽位未被重置
-                                        if (slot.getProducerId() != null && assignedProducer.getId().equals(slot.getProducerId()) && "生产中".equals(slot.getState())) {
-                                            slot.setState("已完成");
-                                            itemCount.incrementAndGet();
-                                        }
-                                    }
-                                    
-                                    totalProduced.incrementAndGet();
-                                    synchronized (assignedProducer) {
-                                        assignedProducer.setItemsProduced(assignedProducer.getItemsProduced() + 1);
-                                    }
-                                    
-                                    addLog(assignedProducer.getId() + " 在槽位 " + slotIndex + " 完成了之前未完成的物品 " + itemValue);
-                                    
-                                    // 完成后继续正常生产循环
-                                    runProducer(assignedProducer);
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
+            BufferItem slot = slots.snapshot(i);
+
+            if (slot.getState() == SlotState.PRODUCING && slot.getProducerId() != null) {
+                // 找到对应的生产者
+                for (Producer producer : producers) {
+                    if (producer.getId().equals(slot.getProducerId()) && !processedProducers.contains(producer.getId())) {
+                        final Producer assignedProducer = producer;
+                        final int itemValue = slot.getValue();
+
+                        // 标记此生产者已处理，避免重复创建线程
+                        processedProducers.add(producer.getId());
+
+                        // 提交到线程池继续完成生产，完成后自动进入正常生产循环
+                        producerThreadPool.submit(() -> {
+                            try {
+                                // 继续完成生产
+                                Thread.sleep(getProductionDelay());
+
+                                // 再次检查状态，确保槽位未被重置
+                                if (slots.completeProduction(slotIndex, assignedProducer.getId())) {
+                                    changes.markSlot(slotIndex);
+                                    notEmpty.signal();
+                                    itemCount.incrementAndGet();
                                 }
-                            });
-                            break;
-                        }
+
+                                totalProduced.increment();
+                                metrics.produced();
+                                synchronized (assignedProducer) {
+                                    assignedProducer.setItemsProduced(assignedProducer.getItemsProduced() + 1);
+                                }
+                                changes.markProducer(assignedProducer);
+
+                                operationLogs.add(EventLog.Type.PRODUCE_RESUMED, assignedProducer.getId(), slotIndex, itemValue);
+
+                                // 完成后继续正常生产循环
+                                runProducer(assignedProducer);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                        break;
                     }
                 }
             }
@@ -433,45 +498,26 @@ public class ProducerConsumerService {
         addLog("模拟已继续");
     }
 
-    // 获取当前状态
-    public synchronized ProducerConsumerStatusDTO getStatus() {
-        // 创建槽位快照（为避免返回内部引用，做浅拷贝）
-        List<BufferItem> bufferSnapshot = new ArrayList<>();
-        synchronized (lock) {
-            for (int i = 0; i < bufferSlots.length; i++) {
-                BufferItem s = bufferSlots[i];
-                if (s == null) {
-                    BufferItem empty = new BufferItem();
-                    empty.setState("空");
-                    bufferSnapshot.add(empty);
-                } else {
-                    // 尝试深拷贝关键字段到新对象（避免前端修改内部数据）
-                    BufferItem copy = new BufferItem();
-                    copy.setValue(s.getValue());
-                    copy.setProducerId(s.getProducerId());
-                    copy.setConsumerId(s.getConsumerId());
-                    copy.setTimestamp(s.getTimestamp());
-                    copy.setConsumed(s.isConsumed());
-                    copy.setWaitTime(s.getWaitTime());
-                    copy.setState(s.getState());
-                    bufferSnapshot.add(copy);
-                }
-            }
+    // 获取当前状态（不加锁，生产者/消费者线程不会因为前端轮询而停顿）
+    public ProducerConsumerStatusDTO getStatus() {
+        // 创建槽位快照（为避免返回内部引用，每个槽位返回副本）
+        SlotBuffer slots = buffer;
+        List<BufferItem> bufferSnapshot = new ArrayList<>(slots.capacity());
+        for (int i = 0; i < slots.capacity(); i++) {
+            bufferSnapshot.add(slots.snapshot(i));
         }
 
         List<Producer> producerSnapshot = new ArrayList<>(producers);
         List<Consumer> consumerSnapshot = new ArrayList<>(consumers);
-        List<String> logSnapshot = new ArrayList<>(operationLogs);
+        List<String> logSnapshot = operationLogs.render(); // 读取时才格式化日志
 
-        ProducerConsumerStatusDTO.Stats stats = new ProducerConsumerStatusDTO.Stats(
-                totalProduced.get(), totalConsumed.get(), bufferFullCount.get(), bufferEmptyCount.get()
-        );
+        ProducerConsumerStatusDTO.Stats stats = currentStats();
 
-        // headPointer 不再有意义，tailPointer 使用 bufferSize 表示总槽位数
+        // 扫描模式下 headPointer 没有意义（为 0），tailPointer 表示总槽位数；环形模式下为读写位置
         return new ProducerConsumerStatusDTO(
                 bufferSnapshot,
-                0,
-                bufferSnapshot.size(),
+                slots.getHeadPointer(),
+                slots.getTailPointer(),
                 itemCount.get(),
                 bufferSize,
                 producerSnapshot,
@@ -481,6 +527,57 @@ public class ProducerConsumerService {
         );
     }
 
+    /**
+     * 增量状态：只返回纪元 since 之后变化过的槽位、生产者/消费者与日志
+     * 首次查询传 0（或 since 早于最近一次初始化/重置）时返回全量，此时 full=true；
+     * 返回的 version 作为下一次查询的 since
+     */
+    public ProducerConsumerDeltaDTO getStatusDelta(long since) {
+        long version = changes.advance();
+        boolean full = changes.needsFullRefresh(since, version);
+        long from = full ? Long.MIN_VALUE : since;
+
+        SlotBuffer slots = buffer;
+        List<ProducerConsumerDeltaDTO.SlotChange> slotChanges = new ArrayList<>();
+        for (int i = 0; i < slots.capacity(); i++) {
+            if (full || changes.slotChangedSince(i, from)) {
+                slotChanges.add(new ProducerConsumerDeltaDTO.SlotChange(i, slots.snapshot(i)));
+            }
+        }
+        List<Producer> producerChanges = new ArrayList<>();
+        for (Producer producer : producers) {
+            if (full || producer.getChangeEpoch() >= from) {
+                producerChanges.add(producer);
+            }
+        }
+        List<Consumer> consumerChanges = new ArrayList<>();
+        for (Consumer consumer : consumers) {
+            if (full || consumer.getChangeEpoch() >= from) {
+                consumerChanges.add(consumer);
+            }
+        }
+
+        return new ProducerConsumerDeltaDTO(
+                version,
+                full,
+                slotChanges,
+                slots.getHeadPointer(),
+                slots.getTailPointer(),
+                itemCount.get(),
+                bufferSize,
+                producerChanges,
+                consumerChanges,
+                currentStats(),
+                operationLogs.render(from)
+        );
+    }
+
+    private ProducerConsumerStatusDTO.Stats currentStats() {
+        return new ProducerConsumerStatusDTO.Stats(
+                totalProduced.intValue(), totalConsumed.intValue(), bufferFullCount.intValue(), bufferEmptyCount.intValue()
+        );
+    }
+
     // 获取已消费物品历史记录
     public synchronized List<BufferItem> getConsumedItemsHistory() {
         // 返回历史快照（浅拷贝）
@@ -489,13 +586,7 @@ public class ProducerConsumerService {
 
     // 添加日志
     private void addLog(String message) {
-        String log = "[" + LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")) + "] " + message;
-        operationLogs.add(log);
-
-        // 限制日志数量
-        if (operationLogs.size() > 50) {
-            operationLogs.remove(0);
-        }
+        operationLogs.add(message);
     }
 
     // 获取生产延迟
@@ -510,6 +601,10 @@ public class ProducerConsumerService {
         return consumptionSpeed;
     }
 
+    public void setHandoffListener(HandoffListener handoffListener) {
+        this.handoffListener = handoffListener;
+    }
+
     // 判断系统是否正在运行
     public boolean isRunning() {
         return isRunning;
@@ -517,17 +612,13 @@ public class ProducerConsumerService {
 
     // 缓冲区大小的setter方法
     public synchronized void setBufferSize(int bufferSize) {
-        if (bufferSize < 1 || bufferSize > 20) {
-            throw new IllegalArgumentException("缓冲区大小必须在1到20之间");
+        if (bufferSize < 1 || bufferSize > MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException("缓冲区大小必须在1到" + MAX_BUFFER_SIZE + "之间");
         }
         this.bufferSize = bufferSize;
         // 重新初始化槽位（保留原行为：调整大小时重新创建槽位并初始化为 "空"）
-        bufferSlots = new BufferItem[bufferSize];
-        for (int i = 0; i < bufferSize; i++) {
-            BufferItem slot = new BufferItem();
-            slot.setState("空");
-            bufferSlots[i] = slot;
-        }
+        buffer = SlotBufferFactory.create(bufferMode, bufferSize);
+        changes.reset(bufferSize);
         addLog("缓冲区大小已设置为: " + bufferSize);
     }
 
@@ -536,84 +627,18 @@ public class ProducerConsumerService {
         return bufferSize;
     }
 
-    // 为每个生产者维护当前槽位索引，用于循环选择槽位
-    private final Map<String, Integer> producerCurrentSlotIndex = new ConcurrentHashMap<>();
-    
-    // 为每个消费者维护当前槽位索引，用于循环选择槽位
-    private final Map<String, Integer> consumerCurrentSlotIndex = new ConcurrentHashMap<>();
-
-    // 查找可用于生产的槽位（"空" 或 "已消费"）并尝试锁定
-    private BufferItem findSlotForProduction(Producer producer) {
-        // 初始化当前生产者的起始索引（如果不存在）
-        int startIndex = producerCurrentSlotIndex.getOrDefault(producer.getId(), 0);
-        int currentIndex = startIndex;
-        int checkedSlots = 0;
-        
-        // 遍历所有槽位，从上次使用的下一个位置开始
-        while (checkedSlots < bufferSlots.length) {
-            BufferItem slot = bufferSlots[currentIndex];
-            synchronized (slot.getSlotLock()) {
-                if ("空".equals(slot.getState()) || "已消费".equals(slot.getState())) {
-                    // 在返回槽位前就标记为生产中，防止其他生产者抢占
-                    slot.setProducerId(producer.getId());
-                    slot.setTimestamp(LocalDateTime.now());
-                    slot.setConsumed(false);
-                    slot.setWaitTime(0);
-                    slot.setState("生产中");
-                    slot.setConsumerId(null);
-                    
-                    // 获取槽位索引用于日志
-                    int slotIndex = currentIndex;
-                    addLog(producer.getId() + " 在槽位 " + slotIndex + " 开始生产");
-                    
-                    // 更新当前生产者的下一个起始索引
-                    producerCurrentSlotIndex.put(producer.getId(), (currentIndex + 1) % bufferSlots.length);
-                    
-                    // 二次确认，确保槽位确实被当前生产者锁定
-                    if ("生产中".equals(slot.getState()) && producer.getId().equals(slot.getProducerId())) {
-                        return slot;
-                    }
-                }
-            }
-            
-            // 移动到下一个槽位
-            currentIndex = (currentIndex + 1) % bufferSlots.length;
-            checkedSlots++;
-        }
-        
-        // 如果没有找到可用槽位，也更新索引以便下次从新位置开始
-        producerCurrentSlotIndex.put(producer.getId(), (startIndex + 1) % bufferSlots.length);
-        return null;
-    }
-     
-    // 查找已完成的槽位（"已完成"）并尝试锁定
-    private BufferItem findCompletedSlot(Consumer consumer) {
-        // 初始化当前消费者的起始索引（如果不存在）
-        int startIndex = consumerCurrentSlotIndex.getOrDefault(consumer.getId(), 0);
-        int currentIndex = startIndex;
-        int checkedSlots = 0;
-        
-        // 遍历所有槽位，从上次使用的下一个位置开始
-        while (checkedSlots < bufferSlots.length) {
-            BufferItem slot = bufferSlots[currentIndex];
-            synchronized (slot.getSlotLock()) {
-                if ("已完成".equals(slot.getState())) {
-                    // 更新当前消费者的下一个起始索引
-                    consumerCurrentSlotIndex.put(consumer.getId(), (currentIndex + 1) % bufferSlots.length);
-                    // 发现已完成的槽位，返回它
-                    return slot;
-                }
-            }
-            
-            // 移动到下一个槽位
-            currentIndex = (currentIndex + 1) % bufferSlots.length;
-            checkedSlots++;
-        }
-        
-        // 如果没有找到可用槽位，也更新索引以便下次从新位置开始
-        consumerCurrentSlotIndex.put(consumer.getId(), (startIndex + 1) % bufferSlots.length);
-        return null;
+    // 当前使用的缓冲区模式
+    public String getBufferMode() {
+        return bufferMode;
     }
 
+    // 当前使用的等待策略
+    public String getWaitStrategy() {
+        return waitStrategy;
+    }
 
+    // 当前使用的线程模式
+    public String getThreadMode() {
+        return threadMode;
+    }
 }
@@ -0,0 +1,159 @@
+package com.example.producer.service;
+
+import com.example.producer.dto.ProducerConsumerDeltaDTO;
+import com.example.producer.dto.ProducerConsumerStatusDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 状态推送：按固定频率（如 30 Hz）把增量状态推送给订阅者，替代前端轮询 /status
+ * 每一帧是订阅者自己的 getStatusDelta(since)，两帧之间的槽位变化、计数与日志都合并在一帧里，
+ * 推送开销只与帧率有关，与生产/消费的吞吐量无关；读取增量不加锁，不会让生产者/消费者线程停顿
+ * - 第一帧为全量（full=true），之后没有任何变化时不推送，只定期发送心跳以便发现断开的连接
+ * - 帧之间按固定间隔（fixed delay）调度，客户端接收慢时帧率自动降低，变化合并到下一帧
+ */
+@Service
+public class ProducerConsumerStreamService {
+
+    public static final int MAX_HZ = 60;
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+    /**
+     * 帧的发送目标（如 SSE 连接），抛出异常视为客户端已断开
+     */
+    public interface FrameSink {
+        void send(ProducerConsumerDeltaDTO frame) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void fail(Throwable failure);
+    }
+
+    private final ProducerConsumerService producerConsumerService;
+    private final int defaultHz;
+    private final Semaphore subscriptions;
+    private final int maxSubscriptions;
+    private final ScheduledExecutorService scheduler;
+
+    public ProducerConsumerStreamService(ProducerConsumerService producerConsumerService,
+                                         @Value("${producer.stream.default-hz:30}") int defaultHz,
+                                         @Value("${producer.stream.max-count:16}") int maxSubscriptions) {
+        if (defaultHz < 1 || defaultHz > MAX_HZ) {
+            throw new IllegalArgumentException("推送频率必须在1到" + MAX_HZ + "之间");
+        }
+        if (maxSubscriptions < 1) {
+            throw new IllegalArgumentException("订阅数上限必须为正整数");
+        }
+        this.producerConsumerService = producerConsumerService;
+        this.defaultHz = defaultHz;
+        this.maxSubscriptions = maxSubscriptions;
+        this.subscriptions = new Semaphore(maxSubscriptions);
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threads = task -> {
+            Thread thread = new Thread(task, "producer-consumer-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.scheduler = Executors.newScheduledThreadPool(Math.min(maxSubscriptions, 4), threads);
+    }
+
+    /**
+     * 订阅状态推送，hz 为 null 时使用默认频率；连接关闭时调用返回值的 cancel()
+     */
+    public Subscription subscribe(Integer hz, FrameSink sink) {
+        int rate = hz != null ? hz : defaultHz;
+        if (rate < 1 || rate > MAX_HZ) {
+            throw new IllegalArgumentException("推送频率必须在1到" + MAX_HZ + "之间");
+        }
+        if (!subscriptions.tryAcquire()) {
+            throw new SubscriptionLimitExceededException(maxSubscriptions);
+        }
+        Subscription subscription = new Subscription(sink);
+        try {
+            subscription.future = scheduler.scheduleWithFixedDelay(subscription, 0, 1_000_000_000L / rate, TimeUnit.NANOSECONDS);
+            if (subscription.cancelled) {
+                // 第一帧就发送失败，cancel() 执行时还没有拿到 future
+                subscription.future.cancel(false);
+            }
+        } catch (RuntimeException e) {
+            subscriptions.release();
+            throw e;
+        }
+        return subscription;
+    }
+
+    public int getDefaultHz() {
+        return defaultHz;
+    }
+
+    public class Subscription implements Runnable {
+        private final FrameSink sink;
+        private volatile ScheduledFuture<?> future;
+        private long since;                              // 下一帧的起点，0 表示先推送全量
+        private ProducerConsumerStatusDTO.Stats lastStats;
+        private long lastSentNanos = System.nanoTime();
+        private volatile boolean cancelled;
+
+        private Subscription(FrameSink sink) {
+            this.sink = sink;
+        }
+
+        // 在推送线程上执行：取增量，有变化才推送
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                ProducerConsumerDeltaDTO frame = producerConsumerService.getStatusDelta(since);
+                since = frame.getVersion();
+                if (frame.isFull() || changed(frame)) {
+                    lastStats = frame.getStats();
+                    lastSentNanos = System.nanoTime();
+                    sink.send(frame);
+                } else if (System.nanoTime() - lastSentNanos > HEARTBEAT_NANOS) {
+                    lastSentNanos = System.nanoTime();
+                    sink.heartbeat();
+                }
+            } catch (Exception e) {
+                // 客户端已断开（或连接已关闭）：停止推送
+                cancel();
+                sink.fail(e);
+            }
+        }
+
+        private boolean changed(ProducerConsumerDeltaDTO frame) {
+            return !frame.getBuffer().isEmpty() || !frame.getProducers().isEmpty() || !frame.getConsumers().isEmpty()
+                    || !frame.getLogs().isEmpty() || !frame.getStats().equals(lastStats);
+        }
+
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            subscriptions.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
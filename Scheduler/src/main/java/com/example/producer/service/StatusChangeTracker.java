@@ -0,0 +1,92 @@
+package com.example.producer.service;
+
+import com.example.producer.model.Consumer;
+import com.example.producer.model.Producer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 记录槽位、生产者/消费者、日志在哪个"纪元"发生过变化，用于增量状态查询
+ * 纪元只由读取方推进（每次增量查询 getAndIncrement 一次），写入方只读纪元并写下自己的标记，不争用同一个计数器：
+ * - 写入方在修改之后标记：读纪元 e，写入标记 e，再读一次纪元，若已变化则用新纪元重写，直到两次读到的纪元相同
+ * - 读取方取得 current = epoch.getAndIncrement()，返回标记 >= since 的对象，并把 current + 1 作为下次的 since
+ * 最终标记为 current 的写入在纪元推进之前已经完成，本次一定能看到；推进之后才完成的写入最终标记 >= current + 1，
+ * 由下一次查询返回。写入进行中的对象可能被两次查询都返回，槽位与生产者/消费者由前端按下标/id 覆盖即可
+ */
+public class StatusChangeTracker {
+
+    private final AtomicLong epoch = new AtomicLong(1);
+    private volatile AtomicLongArray slotMarks = new AtomicLongArray(0);
+    private volatile long baseline = 1; // 最近一次 init/reset 时的纪元，更早的 since 只能返回全量
+
+    // 重新创建缓冲区、生产者和消费者时调用：之前的增量全部失效
+    public void reset(int capacity) {
+        long current = epoch.getAndIncrement();
+        AtomicLongArray marks = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            marks.set(i, current);
+        }
+        slotMarks = marks;
+        baseline = current + 1;
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    // 开始一次增量查询，返回下次查询应该传入的 since
+    public long advance() {
+        return epoch.getAndIncrement() + 1;
+    }
+
+    // since 早于最近一次 init/reset，或者来自未来（服务重启），只能返回全量
+    public boolean needsFullRefresh(long since, long version) {
+        return since < baseline || since > version;
+    }
+
+    public void markSlot(int slot) {
+        AtomicLongArray marks = slotMarks;
+        if (slot >= marks.length()) {
+            return; // 旧缓冲区的线程还没退出
+        }
+        long e = epoch.get();
+        while (true) {
+            marks.set(slot, e);
+            long now = epoch.get();
+            if (now == e) {
+                return;
+            }
+            e = now;
+        }
+    }
+
+    public boolean slotChangedSince(int slot, long since) {
+        AtomicLongArray marks = slotMarks;
+        return slot >= marks.length() || marks.get(slot) >= since;
+    }
+
+    public void markProducer(Producer producer) {
+        long e = epoch.get();
+        while (true) {
+            producer.setChangeEpoch(e);
+            long now = epoch.get();
+            if (now == e) {
+                return;
+            }
+            e = now;
+        }
+    }
+
+    public void markConsumer(Consumer consumer) {
+        long e = epoch.get();
+        while (true) {
+            consumer.setChangeEpoch(e);
+            long now = epoch.get();
+            if (now == e) {
+                return;
+            }
+            e = now;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.producer.service;
+
+/**
+ * 状态推送的订阅数已达上限（producer.stream.max-count），控制器返回 503，前端退回轮询
+ */
+public class SubscriptionLimitExceededException extends RuntimeException {
+
+    public SubscriptionLimitExceededException(int maxSubscriptions) {
+        super("状态推送的订阅数已达上限（" + maxSubscriptions + "），请稍后重试");
+    }
+}
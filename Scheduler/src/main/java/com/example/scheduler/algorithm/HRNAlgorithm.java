@@ -1,53 +1,183 @@
 package com.example.scheduler.algorithm;
 
-import com.example.scheduler.model.Core;
-import com.example.scheduler.model.ProcessControlBlock;
-import com.example.scheduler.model.ProcessStatus;
+import com.example.scheduler.model.ProcessTable;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
 
+/**
+ * 高响应比优先：响应比 = (等待时间 + 服务时间) / 服务时间 = 1 + (t - arrivalTime) / remainingTime
+ *
+ * 响应比随时间线性增长，斜率为 1 / remainingTime，因此：
+ * - 服务时间相同的进程之间顺序固定（到达越早响应比越高），按服务时间分桶，桶内按到达时间排成堆；
+ * - 不同桶的桶头之间，两条直线至多交叉一次，交叉时刻可以精确算出。
+ * 各桶头组成一棵动力学锦标赛树（kinetic tournament）：每个内部结点记录当前胜者以及胜负关系失效的时刻，
+ * 选择时只重算已失效的结点，桶头变化时只更新一条路径，单次选择/入队的代价为 O(log B)，B 为不同服务时间的个数。
+ * 响应比比较使用整数交叉相乘，不做浮点除法；剩余时间为 0 的进程视为响应比无穷大。
+ */
 public class HRNAlgorithm implements ISchedulingAlgorithm {
 
+    private static final int NEVER = Integer.MAX_VALUE;
+    private static final int DIRTY = Integer.MIN_VALUE;
+
+    private ProcessTable processes = new ProcessTable();
+
+    // 桶：bucketKeys 为升序排列的不同服务时间，bucketHeaps[b] 中是服务时间为 bucketKeys[b] 的就绪进程
+    private int[] bucketKeys = new int[0];
+    private IndexHeap[] bucketHeaps = new IndexHeap[0];
+
+    // 锦标赛树（数组存储，叶子 leafBase + b 对应桶 b）：winner 为子树中的胜出桶（-1 表示子树为空），
+    // expire 为子树内最早失效的时刻，到该时刻前胜负关系不变
+    private int leafBase = 1;
+    private int[] winner = new int[]{-1, -1};
+    private int[] expire = new int[]{NEVER, NEVER};
+
     @Override
-    public List<ProcessControlBlock> selectProcesses(List<ProcessControlBlock> readyQueue, List<Core> cores, int currentTime) {
-        // 1. 统计空闲核心数量
-        int freeCores = 0;
-        for (Core core : cores) {
-            if (core.getRunningProcess() == null || core.getRunningProcess().getStatus() != ProcessStatus.RUNNING) {
-                freeCores++;
+    public void bind(ProcessTable processes) {
+        this.processes = processes;
+        // 收集所有可能的服务时间（剩余时间与要求服务时间）作为桶的键
+        int[] keys = new int[processes.size() * 2];
+        for (int i = 0; i < processes.size(); i++) {
+            keys[2 * i] = processes.getRemainingTime(i);
+            keys[2 * i + 1] = processes.getBurstTime(i);
+        }
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[distinct++] = keys[i];
             }
         }
+        bucketKeys = Arrays.copyOf(keys, distinct);
+        // 按可能落入各桶的进程数预留堆容量，调度过程中不再扩容
+        int[] bucketSizes = new int[distinct];
+        for (int i = 0; i < processes.size(); i++) {
+            int remaining = Arrays.binarySearch(bucketKeys, processes.getRemainingTime(i));
+            int burst = Arrays.binarySearch(bucketKeys, processes.getBurstTime(i));
+            bucketSizes[remaining]++;
+            if (burst != remaining) bucketSizes[burst]++;
+        }
+        bucketHeaps = new IndexHeap[distinct];
+        for (int b = 0; b < distinct; b++) {
+            bucketHeaps[b] = new IndexHeap(this::compareArrival);
+            bucketHeaps[b].ensureCapacity(bucketSizes[b]);
+        }
 
-        // 2. 过滤所有READY进程
-        List<ProcessControlBlock> readyList = new ArrayList<>();
-        for (ProcessControlBlock pcb : readyQueue) {
-            if (pcb.getStatus() == ProcessStatus.READY) {
-                readyList.add(pcb);
+        leafBase = 1;
+        while (leafBase < distinct) leafBase <<= 1;
+        winner = new int[2 * leafBase];
+        expire = new int[2 * leafBase];
+        Arrays.fill(winner, -1);
+        Arrays.fill(expire, NEVER);
+    }
+
+    @Override
+    public void onProcessReady(int index) {
+        int bucket = Arrays.binarySearch(bucketKeys, processes.getRemainingTime(index));
+        if (bucket < 0) {
+            throw new IllegalStateException("进程 " + processes.getPid(index) + " 的剩余时间不在绑定时的服务时间集合中");
+        }
+        IndexHeap heap = bucketHeaps[bucket];
+        heap.offer(index);
+        // 桶头发生变化时，把叶子到根的路径标记为待重算（不知道当前时刻，留到选择时计算）
+        if (heap.peek() == index) {
+            int node = leafBase + bucket;
+            winner[node] = bucket;
+            for (node >>>= 1; node > 0; node >>>= 1) {
+                expire[node] = DIRTY;
             }
         }
+    }
 
-        // 3. 按HRN响应比降序排列
-        readyList.sort((a, b) -> {
-            double r1 = calcResponseRatio(a, currentTime);
-            double r2 = calcResponseRatio(b, currentTime);
-            // 响应比大的优先
-            return Double.compare(r2, r1);
-        });
+    @Override
+    public int selectProcesses(int freeCores, int currentTime, int[] selected) {
+        // 1. 重算所有在 currentTime 之前失效的结点
+        refresh(1, currentTime);
+
+        // 2. 依次取出根结点的胜出桶的桶头，桶内下一个进程补位并更新路径
+        int count = 0;
+        while (count < freeCores && winner[1] >= 0) {
+            int bucket = winner[1];
+            IndexHeap heap = bucketHeaps[bucket];
+            selected[count++] = heap.poll();
+            int node = leafBase + bucket;
+            winner[node] = heap.isEmpty() ? -1 : bucket;
+            for (node >>>= 1; node > 0; node >>>= 1) {
+                recompute(node, currentTime);
+            }
+        }
+        return count;
+    }
+
+    private void refresh(int node, int currentTime) {
+        if (expire[node] > currentTime) return;
+        refresh(2 * node, currentTime);
+        refresh(2 * node + 1, currentTime);
+        recompute(node, currentTime);
+    }
+
+    // 由两个子结点（均已在 currentTime 有效）计算结点的胜者与失效时刻
+    private void recompute(int node, int currentTime) {
+        int left = winner[2 * node];
+        int right = winner[2 * node + 1];
+        int certificate;
+        if (left < 0 || right < 0) {
+            winner[node] = left < 0 ? right : left;
+            certificate = NEVER;
+        } else if (beats(left, right, currentTime)) {
+            winner[node] = left;
+            certificate = overtakeTime(left, right, currentTime);
+        } else {
+            winner[node] = right;
+            certificate = overtakeTime(right, left, currentTime);
+        }
+        expire[node] = Math.min(certificate, Math.min(expire[2 * node], expire[2 * node + 1]));
+    }
+
+    /**
+     * 桶 a 的桶头在 currentTime 是否优先于桶 b 的桶头：
+     * (t - arrivalA) / sA 与 (t - arrivalB) / sB 比较，交叉相乘避免除法；相等时先来先服务
+     */
+    private boolean beats(int a, int b, int currentTime) {
+        int headA = bucketHeaps[a].peek();
+        int headB = bucketHeaps[b].peek();
+        int sA = bucketKeys[a];
+        int sB = bucketKeys[b];
+        if (sA <= 0 || sB <= 0) {
+            return sA <= 0 && sB <= 0 ? headA < headB : sA <= 0;
+        }
+        long lhs = ((long) currentTime - processes.getArrivalTime(headA)) * sB;
+        long rhs = ((long) currentTime - processes.getArrivalTime(headB)) * sA;
+        return lhs != rhs ? lhs > rhs : headA < headB;
+    }
 
-        // 4. 取前freeCores个
-        List<ProcessControlBlock> selected = new ArrayList<>();
-        for (int i = 0; i < Math.min(freeCores, readyList.size()); i++) {
-            selected.add(readyList.get(i));
+    /**
+     * 当前胜者 w 被败者 l 反超的最早时刻
+     * 服务时间越短直线越陡：胜者更陡（或响应比无穷大）时永不被反超；
+     * 否则交点 t* = (arrivalL * sW - arrivalW * sL) / (sW - sL)，t* 之后败者严格领先，恰在 t* 时按先来先服务
+     */
+    private int overtakeTime(int w, int l, int currentTime) {
+        int sW = bucketKeys[w];
+        int sL = bucketKeys[l];
+        if (sW <= 0 || sW < sL) return NEVER;
+        int headW = bucketHeaps[w].peek();
+        int headL = bucketHeaps[l].peek();
+        long numerator = (long) processes.getArrivalTime(headL) * sW - (long) processes.getArrivalTime(headW) * sL;
+        long denominator = (long) sW - sL;
+        long crossing = Math.floorDiv(numerator, denominator);
+        long first;
+        if (crossing * denominator == numerator) {
+            first = headL < headW ? crossing : crossing + 1;
+        } else {
+            first = crossing + 1;
         }
-        return selected;
+        first = Math.max(first, (long) currentTime + 1);
+        return first >= NEVER ? NEVER : (int) first;
     }
 
-    private double calcResponseRatio(ProcessControlBlock pcb, int currentTime) {
-        int waitingTime = currentTime - pcb.getArrivalTime();
-        int burstTime = pcb.getRemainingTime(); // 或 pcb.getBurstTime()，要看你的实现，通常是剩余时间
-        return ((double) waitingTime + burstTime) / burstTime;
+    // 桶内顺序：到达早的响应比高，同时到达则先来先服务
+    private int compareArrival(int a, int b) {
+        int result = Integer.compare(processes.getArrivalTime(a), processes.getArrivalTime(b));
+        return result != 0 ? result : Integer.compare(a, b);
     }
 
     @Override
@@ -0,0 +1,39 @@
+package com.example.scheduler.algorithm;
+
+import com.example.scheduler.model.ProcessTable;
+
+/**
+ * 基于堆的非抢占式调度算法：就绪进程按子类给出的优先级常驻在堆中，
+ * 每次选择只弹出堆顶 k 个，复杂度 O(k log n)
+ */
+public abstract class HeapSchedulingAlgorithm implements ISchedulingAlgorithm {
+
+    protected ProcessTable processes = new ProcessTable();
+    private final IndexHeap readyHeap = new IndexHeap(this::compare);
+
+    /**
+     * 比较两个就绪进程，小者优先；优先级相同时应返回 Integer.compare(a, b) 以保持先来先服务
+     */
+    protected abstract int compare(int a, int b);
+
+    @Override
+    public void bind(ProcessTable processes) {
+        this.processes = processes;
+        readyHeap.clear();
+        readyHeap.ensureCapacity(processes.size());
+    }
+
+    @Override
+    public void onProcessReady(int index) {
+        readyHeap.offer(index);
+    }
+
+    @Override
+    public int selectProcesses(int freeCores, int currentTime, int[] selected) {
+        int count = 0;
+        while (count < freeCores && !readyHeap.isEmpty()) {
+            selected[count++] = readyHeap.poll();
+        }
+        return count;
+    }
+}
@@ -1,18 +1,41 @@
 package com.example.scheduler.algorithm;
 
-import com.example.scheduler.model.Core;
-import com.example.scheduler.model.ProcessControlBlock;
-import java.util.List;
+import com.example.scheduler.model.ProcessTable;
 
+/**
+ * 调度算法自己维护就绪结构：引擎在进程就绪时回调 onProcessReady，
+ * 在有空闲核心时调用 selectProcesses 取出要运行的进程
+ * 进程一律以 bind 传入进程表中的行号表示，下标顺序即进入就绪队列的先后顺序（用于同优先级时的先来先服务）
+ */
 public interface ISchedulingAlgorithm {
     /**
-     * 选择当前时刻可运行的进程列表（最多4个），按算法规则排序/选取
-     * @param readyQueue 当前就绪队列
-     * @param cores 当前核的状态（可选）
+     * 绑定本次调度的进程表，并清空算法内部的就绪结构
+     * @param processes 按到达顺序排列的全部进程
+     */
+    void bind(ProcessTable processes);
+
+    /**
+     * 进程进入就绪队列
+     * @param index 进程在 bind 进程表中的行号
+     */
+    void onProcessReady(int index);
+
+    /**
+     * 选择当前时刻可运行的进程（最多 freeCores 个），并将其移出就绪结构
+     * @param freeCores 当前空闲核心数
      * @param currentTime 当前时间
-     * @return 被选中的进程列表
+     * @param selected 输出缓冲区，按分配顺序写入被选中进程的行号
+     * @return 被选中的进程个数
+     */
+    int selectProcesses(int freeCores, int currentTime, int[] selected);
+
+    /**
+     * 时间片长度：进程连续运行满该周期数仍未完成时由引擎抢占并重新交回 onProcessReady
+     * 非抢占式算法返回 0
      */
-    List<ProcessControlBlock> selectProcesses(List<ProcessControlBlock> readyQueue, List<Core> cores, int currentTime);
+    default int getTimeSlice() {
+        return 0;
+    }
 
     /**
      * 算法名称
@@ -0,0 +1,91 @@
+package com.example.scheduler.algorithm;
+
+/**
+ * 以进程下标为元素的二叉小顶堆
+ * 堆顶是比较器意义下"最优先"的进程下标，插入/弹出均为 O(log n)
+ */
+public class IndexHeap {
+
+    /**
+     * 比较两个进程下标，返回值含义与 Comparator 相同
+     */
+    @FunctionalInterface
+    public interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    private final IndexComparator comparator;
+    private int[] heap;
+    private int size;
+
+    public IndexHeap(IndexComparator comparator) {
+        this.comparator = comparator;
+        this.heap = new int[16];
+    }
+
+    // 预留容量，避免运行过程中扩容
+    public void ensureCapacity(int capacity) {
+        if (heap.length < capacity) {
+            int[] grown = new int[capacity];
+            System.arraycopy(heap, 0, grown, 0, size);
+            heap = grown;
+        }
+    }
+
+    public void offer(int index) {
+        if (size == heap.length) {
+            ensureCapacity(heap.length * 2);
+        }
+        siftUp(size++, index);
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    public int poll() {
+        int top = heap[0];
+        int last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void siftUp(int pos, int index) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (comparator.compare(index, heap[parent]) >= 0) break;
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = index;
+    }
+
+    private void siftDown(int pos, int index) {
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare(heap[right], heap[child]) < 0) {
+                child = right;
+            }
+            if (comparator.compare(index, heap[child]) <= 0) break;
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = index;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.scheduler.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * 进程下标的环形队列（数组实现）
+ * 每个进程同一时刻最多在队列中出现一次，因此容量取进程总数即可永不溢出；
+ * 入队、出队、判断是否在队列中均为 O(1)
+ */
+public class IndexRing {
+
+    private int[] ring = new int[0];
+    private boolean[] queued = new boolean[0];
+    private int head;
+    private int size;
+
+    // 按进程总数重新分配容量并清空队列
+    public void reset(int capacity) {
+        if (ring.length < capacity) {
+            ring = new int[capacity];
+            queued = new boolean[capacity];
+        } else {
+            Arrays.fill(queued, false);
+        }
+        head = 0;
+        size = 0;
+    }
+
+    // 入队到队尾，已在队列中的进程忽略
+    public void offer(int index) {
+        if (queued[index]) return;
+        int tail = head + size;
+        if (tail >= ring.length) tail -= ring.length;
+        ring[tail] = index;
+        queued[index] = true;
+        size++;
+    }
+
+    // 队头出队
+    public int poll() {
+        int index = ring[head];
+        queued[index] = false;
+        if (++head == ring.length) head = 0;
+        size--;
+        return index;
+    }
+
+    public boolean contains(int index) {
+        return queued[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -1,48 +1,41 @@
 package com.example.scheduler.algorithm;
 
-import com.example.scheduler.model.Core;
-import com.example.scheduler.model.ProcessControlBlock;
-import com.example.scheduler.model.ProcessStatus;
-
-import java.util.*;
+import com.example.scheduler.model.ProcessTable;
 
+/**
+ * 时间片轮转
+ * 就绪进程按进入就绪队列的先后排在环形队列中；时间片计数与抢占由引擎完成：
+ * 进程连续运行满 timeSlice 个周期仍未完成时被抢占，重新通过 onProcessReady 回到队尾
+ */
 public class RoundRobinAlgorithm implements ISchedulingAlgorithm {
     private final int timeSlice;
-    private final Queue<ProcessControlBlock> rrQueue = new LinkedList<>();
+    private final IndexRing rrQueue = new IndexRing();
 
     public RoundRobinAlgorithm(int timeSlice) {
+        if (timeSlice < 1) {
+            throw new IllegalArgumentException("时间片必须为正整数");
+        }
         this.timeSlice = timeSlice;
     }
 
     @Override
-    public List<ProcessControlBlock> selectProcesses(List<ProcessControlBlock> readyQueue, List<Core> cores, int currentTime) {
-        // 1. 保证rrQueue有所有readyQueue中的READY进程
-        for (ProcessControlBlock pcb : readyQueue) {
-            if (!rrQueue.contains(pcb) && pcb.getStatus() == ProcessStatus.READY) {
-                rrQueue.offer(pcb);
-            }
-        }
-        // 2. 移除已完成或不在readyQueue的进程
-        rrQueue.removeIf(pcb -> pcb.getStatus() != ProcessStatus.READY || !readyQueue.contains(pcb));
-
-        // 3. 选出空闲核心数量
-        int freeCores = 0;
-        for (Core core : cores) {
-            if (core.getRunningProcess() == null || core.getRunningProcess().getStatus() != ProcessStatus.RUNNING) {
-                freeCores++;
-            }
-        }
+    public void bind(ProcessTable processes) {
+        rrQueue.reset(processes.size());
+    }
 
-        // 4. 轮转选出可分配的进程
-        List<ProcessControlBlock> selected = new ArrayList<>();
-        Iterator<ProcessControlBlock> it = rrQueue.iterator();
-        while (it.hasNext() && selected.size() < freeCores) {
-            ProcessControlBlock pcb = it.next();
-            if (pcb.getStatus() == ProcessStatus.READY) {
-                selected.add(pcb);
-            }
+    @Override
+    public void onProcessReady(int index) {
+        rrQueue.offer(index);
+    }
+
+    @Override
+    public int selectProcesses(int freeCores, int currentTime, int[] selected) {
+        // 从队头依次取出，最多取空闲核心数个
+        int count = 0;
+        while (count < freeCores && !rrQueue.isEmpty()) {
+            selected[count++] = rrQueue.poll();
         }
-        return selected;
+        return count;
     }
 
     @Override
@@ -50,14 +43,8 @@ public class RoundRobinAlgorithm implements ISchedulingAlgorithm {
         return "Round Robin";
     }
 
+    @Override
     public int getTimeSlice() {
         return timeSlice;
     }
-
-    /**
-     * 在SchedulerService主流程中：
-     * - 每个进程需有已用时间片计数（如 pcb.setTimeSliceUsed()）
-     * - 达到timeSlice时未完成则抢占回到rrQueue队尾
-     * - 进程完成则移出队列
-     */
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.example.scheduler.algorithm;
+
+/**
+ * 根据前端传入的算法名称创建调度算法实例，未传名称时使用 FCFS，无法识别的名称抛出 IllegalArgumentException
+ * 每次调用都返回新实例：算法内部持有就绪结构，不能在多个引擎之间共享
+ */
+public class SchedulingAlgorithmFactory {
+
+    private SchedulingAlgorithmFactory() {
+    }
+
+    public static ISchedulingAlgorithm create(String algorithm, Integer timeSlice) {
+        switch (algorithm == null || algorithm.isBlank() ? "fcfs" : algorithm.toLowerCase()) {
+            case "rr":
+                return new RoundRobinAlgorithm(timeSlice != null ? timeSlice : 1);
+            case "sjf":
+                return new SJFAlgorithm();
+            case "priority":
+                return new PriorityAlgorithm();
+            case "hrn":
+                return new HRNAlgorithm();
+            case "fcfs":
+                return new FCFSAlgorithm();
+            default:
+                throw new IllegalArgumentException("未知的调度算法: " + algorithm);
+        }
+    }
+}
@@ -1,14 +1,33 @@
 package com.example.scheduler.controller;
 
 import com.example.scheduler.algorithm.*;
+import com.example.scheduler.dto.BatchRequestDTO;
+import com.example.scheduler.dto.BatchResultDTO;
 import com.example.scheduler.dto.InitRequestDTO;
 import com.example.scheduler.dto.SchedulerStatusDTO;
+import com.example.scheduler.engine.ProcessTableWriter;
+import com.example.scheduler.engine.ProcessTraceReader;
+import com.example.scheduler.engine.SchedulerEngine;
+import com.example.scheduler.engine.SchedulerSnapshot;
 import com.example.scheduler.model.ProcessControlBlock;
 import com.example.scheduler.model.ScheduleResult;
+import com.example.scheduler.service.SchedulerBatchService;
 import com.example.scheduler.service.SchedulerService;
+import com.example.scheduler.service.SchedulerStreamService;
+import com.example.scheduler.service.StreamLimitExceededException;
+import com.example.scheduler.service.SchedulerTimeline;
+import com.example.scheduler.service.SessionNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,46 +36,48 @@ import java.util.Map;
 @RequestMapping("/api/scheduler")
 public class SchedulerController {
 
+    // 会话ID请求头；不传时使用默认会话，兼容原有前端
+    public static final String SESSION_HEADER = "X-Session-Id";
+
     @Autowired
     private SchedulerService schedulerService;
 
+    @Autowired
+    private SchedulerBatchService schedulerBatchService;
+
+    @Autowired
+    private SchedulerStreamService schedulerStreamService;
+
     /**
      * 初始化进程列表与算法
      * POST /api/scheduler/init
-     * body: { "processes": [...], "algorithm": "fcfs" }
+     * body: { "processes": [...], "algorithm": "fcfs", "coreCount": 4 }
      */
     @PostMapping("/init")
-    public  SchedulerStatusDTO init(@RequestBody InitRequestDTO dto) {
-        schedulerService.initProcesses(dto.getProcesses());
-        ISchedulingAlgorithm algorithm;
-        switch (dto.getAlgorithm().toLowerCase()) {
-            case "fcfs":
-                algorithm = new FCFSAlgorithm();
-                break;
-            case "rr":
-                algorithm = new RoundRobinAlgorithm(dto.getTimeSlice() != null ? dto.getTimeSlice() : 1);
-                break;
-            case "sjf":
-                algorithm = new SJFAlgorithm();
-                break;
-            case "priority":
-                algorithm = new PriorityAlgorithm();
-                break;
-            case "hrn":
-                algorithm = new HRNAlgorithm();
-                break;
-
-            default:
-                algorithm = new FCFSAlgorithm();
-                break;
-        }
-        schedulerService.setAlgorithm(algorithm);
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+    public SchedulerStatusDTO init(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId, @RequestBody InitRequestDTO dto) {
+        int coreCount = dto.getCoreCount() != null ? dto.getCoreCount() : SchedulerEngine.DEFAULT_CORE_COUNT;
+        // 先创建算法：参数不合法时直接返回，不会留下新进程表配旧算法的会话
+        ISchedulingAlgorithm algorithm = SchedulingAlgorithmFactory.create(dto.getAlgorithm(), dto.getTimeSlice());
+        schedulerService.initProcesses(sessionId, dto.getProcesses() != null ? dto.getProcesses() : List.of(), coreCount, algorithm);
+        return schedulerService.getStatus(sessionId);
+    }
+
+    /**
+     * 以流的方式上传大规模负载并初始化，请求体边读边解析，不整体反序列化
+     * POST /api/scheduler/init/stream?algorithm=fcfs&timeSlice=2&coreCount=4
+     * Content-Type: text/csv（pid,arrivalTime,burstTime,jobSize,priority）或 application/x-ndjson / application/json
+     */
+    @PostMapping("/init/stream")
+    public SchedulerStatusDTO initStream(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+                                         @RequestHeader(value = "Content-Type", required = false) String contentType,
+                                         @RequestParam(defaultValue = "fcfs") String algorithm,
+                                         @RequestParam(required = false) Integer timeSlice,
+                                         @RequestParam(required = false) Integer coreCount,
+                                         InputStream body) throws IOException {
+        int cores = coreCount != null ? coreCount : SchedulerEngine.DEFAULT_CORE_COUNT;
+        ISchedulingAlgorithm schedulingAlgorithm = SchedulingAlgorithmFactory.create(algorithm, timeSlice);
+        schedulerService.initProcesses(sessionId, body, ProcessTraceReader.formatOf(contentType), cores, schedulingAlgorithm);
+        return schedulerService.getStatus(sessionId);
     }
 
     /**
@@ -64,16 +85,9 @@ public class SchedulerController {
      * POST /api/scheduler/step
      */
     @PostMapping("/step")
-    public SchedulerStatusDTO step() {
-        if (!schedulerService.isAllFinished()) {
-            schedulerService.scheduleStep();
-        }
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+    public SchedulerStatusDTO step(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        schedulerService.scheduleStep(sessionId);
+        return schedulerService.getStatus(sessionId);
     }
 
     /**
@@ -81,14 +95,53 @@ public class SchedulerController {
      * POST /api/scheduler/run
      */
     @PostMapping("/run")
-    public SchedulerStatusDTO runAll() {
-        schedulerService.runToEnd();
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+    public SchedulerStatusDTO runAll(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        schedulerService.runToEnd(sessionId);
+        return schedulerService.getStatus(sessionId);
+    }
+
+    /**
+     * 一次性运行到结束，以紧凑编码返回状态（Accept 为 COLUMNAR_TYPE 或 TUPLES_TYPE 时）
+     */
+    @PostMapping(value = "/run", produces = {ProcessTableWriter.COLUMNAR_TYPE, ProcessTableWriter.TUPLES_TYPE})
+    public ResponseEntity<StreamingResponseBody> runAllCompact(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+                                                               @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        schedulerService.runToEnd(sessionId);
+        return compactStatus(sessionId, accept);
+    }
+
+    /**
+     * 流式运行到结束（Server-Sent Events）：先推送一次完整状态（status），之后逐事件步骤推送增量（step），最后一帧为 done
+     * 客户端接收慢时多个步骤合并成一帧；stepDelay 为两个事件步骤之间的间隔（毫秒），用于动画展示
+     * GET /api/scheduler/run/stream?stepDelay=100
+     * 浏览器的 EventSource 不能设置请求头，可以用 session 参数代替 X-Session-Id
+     */
+    @GetMapping(value = "/run/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter runStream(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+                                @RequestParam(value = "session", required = false) String sessionParam,
+                                @RequestParam(defaultValue = "0") long stepDelay) {
+        SseEmitter emitter = new SseEmitter(0L); // 不超时，运行结束时关闭
+        SchedulerTimeline timeline = schedulerStreamService.stream(sessionId != null ? sessionId : sessionParam, stepDelay,
+                new SchedulerStreamService.FrameSink() {
+                    @Override
+                    public void send(String event, Object data) throws IOException {
+                        emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void complete() {
+                        emitter.complete();
+                    }
+
+                    @Override
+                    public void fail(Throwable failure) {
+                        emitter.completeWithError(failure);
+                    }
+                });
+        emitter.onCompletion(timeline::cancel);
+        emitter.onTimeout(timeline::cancel);
+        emitter.onError(e -> timeline.cancel());
+        return emitter;
     }
 
     /**
@@ -96,13 +149,27 @@ public class SchedulerController {
      * GET /api/scheduler/status
      */
     @GetMapping("/status")
-    public SchedulerStatusDTO status() {
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+    public SchedulerStatusDTO status(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        return schedulerService.getStatus(sessionId);
+    }
+
+    /**
+     * 以紧凑编码查询当前调度状态，大规模负载时代替 JSON（格式见 ProcessTableWriter）
+     * GET /api/scheduler/status
+     * Accept: application/vnd.scheduler.columnar（列式二进制）或 application/vnd.scheduler.tuples+json（元组 JSON）
+     */
+    @GetMapping(value = "/status", produces = {ProcessTableWriter.COLUMNAR_TYPE, ProcessTableWriter.TUPLES_TYPE})
+    public ResponseEntity<StreamingResponseBody> statusCompact(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+                                                               @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        return compactStatus(sessionId, accept);
+    }
+
+    private ResponseEntity<StreamingResponseBody> compactStatus(String sessionId, String accept) {
+        ProcessTableWriter.Format format = ProcessTableWriter.formatOf(accept);
+        SchedulerSnapshot snapshot = schedulerService.getSnapshot(sessionId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ProcessTableWriter.contentTypeOf(format)))
+                .body(out -> ProcessTableWriter.writeStatus(snapshot, out, format));
     }
 
     /**
@@ -110,8 +177,36 @@ public class SchedulerController {
      * GET /api/scheduler/performance
      */
     @GetMapping("/performance")
-    public ScheduleResult performance() {
-        return schedulerService.calculatePerformance();
+    public ScheduleResult performance(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        return schedulerService.calculatePerformance(sessionId);
+    }
+
+    /**
+     * 以紧凑编码查询性能统计（Accept 同 /status）
+     * GET /api/scheduler/performance
+     */
+    @GetMapping(value = "/performance", produces = {ProcessTableWriter.COLUMNAR_TYPE, ProcessTableWriter.TUPLES_TYPE})
+    public ResponseEntity<StreamingResponseBody> performanceCompact(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+                                                                    @RequestHeader(HttpHeaders.ACCEPT) String accept) {
+        ProcessTableWriter.Format format = ProcessTableWriter.formatOf(accept);
+        SchedulerSnapshot snapshot = schedulerService.getSnapshot(sessionId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ProcessTableWriter.contentTypeOf(format)))
+                .body(out -> ProcessTableWriter.writePerformance(snapshot, out, format));
+    }
+
+    /**
+     * 批量模拟：每组负载分别用每种算法跑完，互不影响，也不改变当前交互式调度的状态
+     * POST /api/scheduler/batch
+     * body: { "workloads": [[...], [...]], "algorithms": ["fcfs", "sjf", "rr"], "timeSlice": 2, "coreCount": 4 }
+     */
+    @PostMapping("/batch")
+    public BatchResultDTO batch(@RequestBody BatchRequestDTO dto) {
+        int coreCount = dto.getCoreCount() != null ? dto.getCoreCount() : SchedulerEngine.DEFAULT_CORE_COUNT;
+        List<List<ProcessControlBlock>> workloads = dto.getWorkloads() != null ? dto.getWorkloads() : List.of();
+        List<String> algorithms = dto.getAlgorithms() != null ? dto.getAlgorithms() : List.of("fcfs");
+        return new BatchResultDTO(algorithms,
+                schedulerBatchService.runBatch(workloads, algorithms, dto.getTimeSlice(), coreCount));
     }
 
     /**
@@ -119,49 +214,70 @@ public class SchedulerController {
      * POST /api/scheduler/reset
      */
     @PostMapping("/reset")
-    public String reset() {
-        schedulerService.reset();
+    public String reset(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        schedulerService.reset(sessionId);
         return "已重置";
     }
 
+    /**
+     * 关闭当前会话，释放其调度状态
+     * DELETE /api/scheduler/session
+     */
+    @DeleteMapping("/session")
+    public String closeSession(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        schedulerService.closeSession(sessionId);
+        return "已关闭";
+    }
+
+    // 请求参数或上传的负载不合法（核心数、算法、时间片、trace 格式等）时返回 400，响应体为错误信息
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
+    // 会话不存在（未初始化、已关闭或已被回收）时返回 404
+    @ExceptionHandler(SessionNotFoundException.class)
+    public ResponseEntity<String> sessionNotFound(SessionNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
+    // 流式运行数已达上限时返回 503，客户端稍后重试
+    @ExceptionHandler(StreamLimitExceededException.class)
+    public ResponseEntity<String> streamLimitExceeded(StreamLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
     /**
      * 测试demo接口（可选）
      * GET /api/scheduler/test-demo
      * 方便你本地测试，无需前端
      */
     @GetMapping("/test-demo")
-    public Object testDemo() {
+    public Object testDemo(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
         List<ProcessControlBlock> testProcs = List.of(
                 new ProcessControlBlock(1, 0, 3, 10, 2),
                 new ProcessControlBlock(2, 1, 2, 12, 1),
                 new ProcessControlBlock(3, 2, 1, 8, 3)
         );
-        schedulerService.initProcesses(testProcs);
-        schedulerService.setAlgorithm(new FCFSAlgorithm());
-        schedulerService.runToEnd();
-        return schedulerService.calculatePerformance();
+        schedulerService.initProcesses(sessionId, testProcs, new FCFSAlgorithm());
+        schedulerService.runToEnd(sessionId);
+        return schedulerService.calculatePerformance(sessionId);
     }
 
     @GetMapping("/test-rr")
-    public SchedulerStatusDTO testRR() {
+    public SchedulerStatusDTO testRR(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
         List<ProcessControlBlock> testProcs = List.of(
                 new ProcessControlBlock(1, 0, 3, 10, 2),
                 new ProcessControlBlock(2, 1, 2, 12, 1),
                 new ProcessControlBlock(3, 2, 1, 8, 3)
         );
-        schedulerService.initProcesses(testProcs);
         // 使用RR算法，时间片设为2
-        schedulerService.setAlgorithm(new RoundRobinAlgorithm(2));
-        schedulerService.runToEnd();
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+        schedulerService.initProcesses(sessionId, testProcs, new RoundRobinAlgorithm(2));
+        schedulerService.runToEnd(sessionId);
+        return schedulerService.getStatus(sessionId);
     }
     @GetMapping("/test-sjf")
-    public SchedulerStatusDTO testSJF() {
+    public SchedulerStatusDTO testSJF(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
         List<ProcessControlBlock> testProcs = List.of(
                 new ProcessControlBlock(1, 0, 5, 10, 2), // 到达时间0，运行时间5
                 new ProcessControlBlock(2, 0, 2, 12, 1), // 到达时间1，运行时间2
@@ -169,19 +285,13 @@ public class SchedulerController {
                 new ProcessControlBlock(4, 0, 4, 15, 2), // 到达时间3，运行时间4
                 new ProcessControlBlock(5, 0, 3, 11, 1)  // 到达时间4，运行时间3
         );
-        schedulerService.initProcesses(testProcs);
         // 使用SJF算法
-        schedulerService.setAlgorithm(new SJFAlgorithm());
-        schedulerService.runToEnd();
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+        schedulerService.initProcesses(sessionId, testProcs, new SJFAlgorithm());
+        schedulerService.runToEnd(sessionId);
+        return schedulerService.getStatus(sessionId);
     }
     @GetMapping("/test-priority")
-    public SchedulerStatusDTO testPriority() {
+    public SchedulerStatusDTO testPriority(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
         List<ProcessControlBlock> testProcs = List.of(
                 new ProcessControlBlock(1, 0, 5, 10, 2), // 到达时间0，运行时间5
                 new ProcessControlBlock(2, 0, 2, 12, 1), // 到达时间1，运行时间2
@@ -189,19 +299,13 @@ public class SchedulerController {
                 new ProcessControlBlock(4, 0, 4, 15, 2), // 到达时间3，运行时间4
                 new ProcessControlBlock(5, 0, 3, 11, 1)  // 到达时间4，运行时间3
         );
-        schedulerService.initProcesses(testProcs);
         // 使用SJF算法
-        schedulerService.setAlgorithm(new PriorityAlgorithm());
-        schedulerService.runToEnd();
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+        schedulerService.initProcesses(sessionId, testProcs, new PriorityAlgorithm());
+        schedulerService.runToEnd(sessionId);
+        return schedulerService.getStatus(sessionId);
     }
     @GetMapping("/test-HRN")
-    public SchedulerStatusDTO testHRN() {
+    public SchedulerStatusDTO testHRN(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
         List<ProcessControlBlock> testProcs = List.of(
                 new ProcessControlBlock(1, 0, 5, 10, 2), // 到达时间0，运行时间5
                 new ProcessControlBlock(2, 1, 2, 12, 1), // 到达时间1，运行时间2
@@ -209,15 +313,9 @@ public class SchedulerController {
                 new ProcessControlBlock(4, 3, 4, 15, 2), // 到达时间3，运行时间4
                 new ProcessControlBlock(5, 4, 3, 11, 1)  // 到达时间4，运行时间3
         );
-        schedulerService.initProcesses(testProcs);
         // 使用SJF算法
-        schedulerService.setAlgorithm(new HRNAlgorithm());
-        schedulerService.runToEnd();
-        return new SchedulerStatusDTO(
-                schedulerService.getCurrentTime(),
-                schedulerService.getReadyQueue(),
-                schedulerService.getCores(),
-                schedulerService.getFinishedQueue()
-        );
+        schedulerService.initProcesses(sessionId, testProcs, new HRNAlgorithm());
+        schedulerService.runToEnd(sessionId);
+        return schedulerService.getStatus(sessionId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.scheduler.dto;
+
+import com.example.scheduler.model.ProcessControlBlock;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequestDTO {
+    private List<List<ProcessControlBlock>> workloads; // N 组进程负载
+    private List<String> algorithms;                  // M 种算法，如 ["fcfs", "sjf", "rr"]
+    private Integer timeSlice; // 仅RR算法需要
+    private Integer coreCount; // 核心数，默认4
+}
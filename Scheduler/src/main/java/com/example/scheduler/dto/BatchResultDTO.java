@@ -0,0 +1,14 @@
+package com.example.scheduler.dto;
+
+import com.example.scheduler.model.ScheduleResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchResultDTO {
+    private List<String> algorithms;
+    private List<List<ScheduleResult>> results; // results[i][j]：第 i 组负载在第 j 种算法下的结果
+}
@@ -10,4 +10,5 @@ public class InitRequestDTO {
     private List<ProcessControlBlock> processes;
     private String algorithm;
     private Integer timeSlice; // 仅RR算法需要
+    private Integer coreCount; // 核心数，默认4
 }
\ No newline at end of file
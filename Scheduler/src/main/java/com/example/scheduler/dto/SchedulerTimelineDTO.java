@@ -0,0 +1,37 @@
+package com.example.scheduler.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 流式运行的一帧：fromTime 到 toTime 之间 steps 个事件步骤的增量
+ * 客户端跟不上时多个步骤合并成一帧：到达/完成的进程依次追加，核心只保留合并后的最终分配
+ */
+@Data
+@AllArgsConstructor
+public class SchedulerTimelineDTO {
+    private int fromTime;
+    private int toTime;
+    private int steps;                  // 本帧合并的步骤数
+    private int readyCount;             // 最后一个步骤结束时的就绪队列长度
+    private List<CoreChange> cores;     // 分配发生变化的核心
+    private List<Arrival> arrived;      // 到达的进程，按进入就绪队列的顺序
+    private List<Integer> finished;     // 完成的进程 pid，按完成顺序
+    private boolean done;               // 全部完成，之后不再有帧
+
+    @Data
+    @AllArgsConstructor
+    public static class CoreChange {
+        private int core;
+        private int pid; // -1 表示空闲
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Arrival {
+        private int pid;
+        private int time; // 进程自身的到达时刻
+    }
+}
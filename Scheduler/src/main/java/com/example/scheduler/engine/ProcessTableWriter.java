@@ -0,0 +1,206 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.model.ProcessStatus;
+import com.example.scheduler.model.ProcessTable;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 调度结果的紧凑编码，直接从快照的进程表逐列/逐行写出，不构造 ProcessControlBlock 列表
+ * 每个进程输出 10 个字段（COLUMNS），状态为 ProcessStatus 的序号；
+ * 等待时间 = 周转时间 - 服务时间，带权周转时间 = 周转时间 / 服务时间（周转时间为 0 时两者均为 0）
+ * 两种格式：
+ * - COLUMNAR（application/vnd.scheduler.columnar）：二进制，大端序（DataOutputStream）
+ *   int 魔数 "SCHD"、int 版本号、byte 类型（1 状态，2 性能统计），之后
+ *   状态：int currentTime、int 行数 n、9 列各 n 个 int、n 个 byte 状态、
+ *         int 就绪数 + 行号、int 核心数 + 行号（空闲为 -1）、int 完成数 + 行号
+ *   性能统计：3 个 double 平均等待/周转/带权周转时间、int 行数 n、同样的列（完成的进程，按完成顺序）
+ * - TUPLES（application/vnd.scheduler.tuples+json）：JSON，进程写成数组（元组），字段名只在 columns 中出现一次
+ * 状态中的行号即 processes 中的下标（前 n 行为已到达的进程，按到达顺序）
+ */
+public class ProcessTableWriter {
+
+    public enum Format { COLUMNAR, TUPLES }
+
+    public static final String COLUMNAR_TYPE = "application/vnd.scheduler.columnar";
+    public static final String TUPLES_TYPE = "application/vnd.scheduler.tuples+json";
+    public static final String[] COLUMNS = {"pid", "arrivalTime", "burstTime", "remainingTime", "jobSize", "priority",
+            "startTime", "finishTime", "turnaroundTime", "status"};
+
+    private static final int MAGIC = 0x53434844; // "SCHD"
+    private static final int VERSION = 1;
+    private static final byte KIND_STATUS = 1;
+    private static final byte KIND_PERFORMANCE = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 根据 Accept/Content-Type 判断格式，两种都不是时返回 null
+    public static Format formatOf(String mediaType) {
+        if (mediaType != null) {
+            String lower = mediaType.toLowerCase();
+            if (lower.contains(COLUMNAR_TYPE)) {
+                return Format.COLUMNAR;
+            }
+            if (lower.contains(TUPLES_TYPE)) {
+                return Format.TUPLES;
+            }
+        }
+        return null;
+    }
+
+    public static String contentTypeOf(Format format) {
+        return format == Format.COLUMNAR ? COLUMNAR_TYPE : TUPLES_TYPE;
+    }
+
+    // 当前调度状态：已到达的进程，以及就绪队列、核心、完成队列的行号
+    public static void writeStatus(SchedulerSnapshot snapshot, OutputStream out, Format format) throws IOException {
+        ProcessTable table = snapshot.getTable();
+        int rowCount = snapshot.getArrivedCount();
+        if (format == Format.COLUMNAR) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+            writeHeader(data, KIND_STATUS);
+            data.writeInt(snapshot.getCurrentTime());
+            writeColumns(data, table, null, rowCount);
+            writeRows(data, snapshot.getReadyRows());
+            writeRows(data, snapshot.getCoreRows());
+            writeRows(data, snapshot.getFinishedRows());
+            data.flush();
+        } else {
+            JsonGenerator json = JSON_FACTORY.createGenerator(out);
+            json.writeStartObject();
+            json.writeNumberField("currentTime", snapshot.getCurrentTime());
+            writeTuples(json, table, null, rowCount);
+            writeRows(json, "ready", snapshot.getReadyRows());
+            writeRows(json, "cores", snapshot.getCoreRows());
+            writeRows(json, "finished", snapshot.getFinishedRows());
+            json.writeEndObject();
+            json.flush();
+        }
+    }
+
+    // 性能统计：平均指标与完成的进程（按完成顺序），与 ScheduleResult 对应
+    public static void writePerformance(SchedulerSnapshot snapshot, OutputStream out, Format format) throws IOException {
+        ProcessTable table = snapshot.getTable();
+        int[] finished = snapshot.getFinishedRows();
+        long waiting = 0;
+        long turnaround = 0;
+        double weighted = 0;
+        for (int row : finished) {
+            waiting += table.getWaitingTime(row);
+            turnaround += table.getTurnaroundTime(row);
+            weighted += table.getWeightedTurnaroundTime(row);
+        }
+        int count = Math.max(finished.length, 1);
+        double avgWaiting = (double) waiting / count;
+        double avgTurnaround = (double) turnaround / count;
+        double avgWeighted = weighted / count;
+
+        if (format == Format.COLUMNAR) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+            writeHeader(data, KIND_PERFORMANCE);
+            data.writeDouble(avgWaiting);
+            data.writeDouble(avgTurnaround);
+            data.writeDouble(avgWeighted);
+            writeColumns(data, table, finished, finished.length);
+            data.flush();
+        } else {
+            JsonGenerator json = JSON_FACTORY.createGenerator(out);
+            json.writeStartObject();
+            json.writeNumberField("avgWaitingTime", avgWaiting);
+            json.writeNumberField("avgTurnaroundTime", avgTurnaround);
+            json.writeNumberField("avgWeightedTurnaroundTime", avgWeighted);
+            writeTuples(json, table, finished, finished.length);
+            json.writeEndObject();
+            json.flush();
+        }
+    }
+
+    private static void writeHeader(DataOutputStream data, byte kind) throws IOException {
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeByte(kind);
+    }
+
+    // 按列写出 count 行；rows 为 null 时写第 0..count-1 行，否则按 rows 给出的行号
+    private static void writeColumns(DataOutputStream data, ProcessTable table, int[] rows, int count) throws IOException {
+        data.writeInt(count);
+        for (int column = 0; column < COLUMNS.length - 1; column++) {
+            for (int i = 0; i < count; i++) {
+                data.writeInt(intColumn(table, column, rows != null ? rows[i] : i));
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            data.writeByte(table.getStatus(rows != null ? rows[i] : i).ordinal());
+        }
+    }
+
+    private static void writeRows(DataOutputStream data, int[] rows) throws IOException {
+        data.writeInt(rows.length);
+        for (int row : rows) {
+            data.writeInt(row);
+        }
+    }
+
+    private static void writeTuples(JsonGenerator json, ProcessTable table, int[] rows, int count) throws IOException {
+        json.writeArrayFieldStart("columns");
+        for (String column : COLUMNS) {
+            json.writeString(column);
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("statuses");
+        for (ProcessStatus status : ProcessStatus.values()) {
+            json.writeString(status.name());
+        }
+        json.writeEndArray();
+        json.writeArrayFieldStart("processes");
+        for (int i = 0; i < count; i++) {
+            int row = rows != null ? rows[i] : i;
+            json.writeStartArray();
+            for (int column = 0; column < COLUMNS.length - 1; column++) {
+                json.writeNumber(intColumn(table, column, row));
+            }
+            json.writeNumber(table.getStatus(row).ordinal());
+            json.writeEndArray();
+        }
+        json.writeEndArray();
+    }
+
+    private static void writeRows(JsonGenerator json, String field, int[] rows) throws IOException {
+        json.writeArrayFieldStart(field);
+        for (int row : rows) {
+            json.writeNumber(row);
+        }
+        json.writeEndArray();
+    }
+
+    // COLUMNS 中第 column 个整数字段（状态除外）
+    private static int intColumn(ProcessTable table, int column, int row) {
+        switch (column) {
+            case 0:
+                return table.getPid(row);
+            case 1:
+                return table.getArrivalTime(row);
+            case 2:
+                return table.getBurstTime(row);
+            case 3:
+                return table.getRemainingTime(row);
+            case 4:
+                return table.getJobSize(row);
+            case 5:
+                return table.getPriority(row);
+            case 6:
+                return table.getStartTime(row);
+            case 7:
+                return table.getFinishTime(row);
+            case 8:
+                return table.getTurnaroundTime(row);
+            default:
+                throw new IllegalArgumentException("未知列: " + column);
+        }
+    }
+}
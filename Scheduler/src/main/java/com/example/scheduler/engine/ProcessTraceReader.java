@@ -0,0 +1,202 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.model.ProcessTable;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 流式读取进程负载（trace），边读边解析，不构造整棵 JSON 树，也不创建 ProcessControlBlock 对象
+ * 支持两种格式：
+ * - CSV：每行 pid,arrivalTime,burstTime,jobSize,priority；首行可以是列名，此时按列名对应
+ * - JSON：JSON Lines（每行一个进程对象）或一个进程对象数组，字段名与 ProcessControlBlock 相同
+ * 解析结果逐行追加到进程表，交给 SchedulerEngine.initProcesses(ProcessTable, int) 建立到达索引
+ */
+public class ProcessTraceReader {
+
+    public enum Format { CSV, JSON }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String[] COLUMNS = {"pid", "arrivalTime", "burstTime", "jobSize", "priority"};
+
+    private final ProcessTable table = new ProcessTable(1024);
+
+    // 根据 Content-Type 推断格式，无法判断时按 JSON 处理
+    public static Format formatOf(String contentType) {
+        if (contentType != null) {
+            String lower = contentType.toLowerCase();
+            if (lower.contains("text/csv")) {
+                return Format.CSV;
+            }
+        }
+        return Format.JSON;
+    }
+
+    public void read(InputStream in, Format format) throws IOException {
+        if (format == Format.CSV) {
+            readCsv(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16));
+        } else {
+            readJson(in);
+        }
+    }
+
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    public int getCount() {
+        return table.size();
+    }
+
+    private void readCsv(BufferedReader reader) throws IOException {
+        int[] columnOf = {0, 1, 2, 3, 4}; // 第 k 个字段（按 COLUMNS 顺序）所在的列
+        int[] values = new int[COLUMNS.length];
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            if (lineNumber == 1 && isHeader(line)) {
+                columnOf = headerColumns(line);
+                continue;
+            }
+            parseCsvLine(line, lineNumber, columnOf, values);
+            table.add(values[0], values[1], values[2], values[3], values[4]);
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        char c = line.trim().charAt(0);
+        return c != '-' && (c < '0' || c > '9');
+    }
+
+    private static int[] headerColumns(String header) {
+        String[] names = header.split(",");
+        int[] columnOf = new int[COLUMNS.length];
+        Arrays.fill(columnOf, -1);
+        for (int column = 0; column < names.length; column++) {
+            for (int k = 0; k < COLUMNS.length; k++) {
+                if (COLUMNS[k].equalsIgnoreCase(names[column].trim())) {
+                    columnOf[k] = column;
+                }
+            }
+        }
+        for (int k = 0; k < 3; k++) {
+            if (columnOf[k] < 0) {
+                throw new IllegalArgumentException("CSV 缺少列 " + COLUMNS[k]);
+            }
+        }
+        return columnOf;
+    }
+
+    // 逐字符解析整数字段，避免 split 产生的临时字符串；缺省的 jobSize/priority 记为 0
+    private static void parseCsvLine(String line, int lineNumber, int[] columnOf, int[] values) {
+        Arrays.fill(values, 0);
+        int column = 0;
+        int length = line.length();
+        int pos = 0;
+        int found = 0;
+        while (pos <= length) {
+            int end = line.indexOf(',', pos);
+            if (end < 0) end = length;
+            for (int k = 0; k < COLUMNS.length; k++) {
+                if (columnOf[k] == column) {
+                    values[k] = parseInt(line, pos, end, lineNumber);
+                    found |= 1 << k;
+                }
+            }
+            column++;
+            pos = end + 1;
+        }
+        if ((found & 0b111) != 0b111) {
+            throw new IllegalArgumentException("第 " + lineNumber + " 行缺少 pid/arrivalTime/burstTime");
+        }
+    }
+
+    private static int parseInt(String line, int start, int end, int lineNumber) {
+        while (start < end && line.charAt(start) == ' ') start++;
+        while (end > start && line.charAt(end - 1) == ' ') end--;
+        boolean negative = start < end && line.charAt(start) == '-';
+        int pos = negative ? start + 1 : start;
+        if (pos == end) {
+            throw new IllegalArgumentException("第 " + lineNumber + " 行存在空字段");
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            char c = line.charAt(pos);
+            if (c < '0' || c > '9' || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("第 " + lineNumber + " 行不是合法的整数: " + line.substring(start, end));
+            }
+            value = value * 10 + (c - '0');
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("第 " + lineNumber + " 行整数越界: " + line.substring(start, end));
+        }
+        return (int) value;
+    }
+
+    // JSON Lines 与 JSON 数组共用一个流式解析器：数组的括号直接跳过，逐个读取进程对象
+    // 格式错误（JsonProcessingException）与其它不合法的输入一样抛出 IllegalArgumentException，读取失败的 IOException 原样抛出
+    private void readJson(InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_ARRAY || token == JsonToken.END_ARRAY) continue;
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("第 " + (table.size() + 1) + " 个进程不是 JSON 对象");
+                }
+                readJsonObject(parser);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("第 " + (table.size() + 1) + " 个进程不是合法的 JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private void readJsonObject(JsonParser parser) throws IOException {
+        int pid = 0, arrivalTime = 0, burstTime = 0, jobSize = 0, priority = 0;
+        int found = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!value.isNumeric()) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (name) {
+                case "pid":
+                    pid = parser.getIntValue();
+                    found |= 1;
+                    break;
+                case "arrivalTime":
+                    arrivalTime = parser.getIntValue();
+                    found |= 2;
+                    break;
+                case "burstTime":
+                    burstTime = parser.getIntValue();
+                    found |= 4;
+                    break;
+                case "jobSize":
+                    jobSize = parser.getIntValue();
+                    break;
+                case "priority":
+                    priority = parser.getIntValue();
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (found != 0b111) {
+            throw new IllegalArgumentException("第 " + (table.size() + 1) + " 个进程缺少 pid/arrivalTime/burstTime");
+        }
+        table.add(pid, arrivalTime, burstTime, jobSize, priority);
+    }
+}
@@ -0,0 +1,435 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.algorithm.ISchedulingAlgorithm;
+import com.example.scheduler.algorithm.IndexHeap;
+import com.example.scheduler.model.Core;
+import com.example.scheduler.model.ProcessControlBlock;
+import com.example.scheduler.model.ProcessStatus;
+import com.example.scheduler.model.ProcessTable;
+import com.example.scheduler.model.ScheduleResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 离散事件调度引擎
+ * - step() 推进一个时钟周期，语义与原先逐周期的 scheduleStep 完全一致（单步接口使用）
+ * - runToEnd() 只在"事件时刻"执行完整的调度步骤，两次事件之间直接把时钟拨到下一个事件
+ * 事件包括：进程到达（存在空闲核心时）、进程完成、时间片用完
+ * 进程按到达时间建立索引，每一步只检查刚刚到达的进程；就绪结构由调度算法自己维护
+ * 核心数可配置：空闲核心记录在位图中，忙碌核心按"下一个事件时刻"放在堆里，
+ * 运行中进程的剩余时间/周转时间只在事件发生或读取快照时才结算，因此每个事件的代价与核心总数无关
+ * 进程状态保存在按列存储的 ProcessTable 中，ProcessControlBlock 只在读取快照（返回给前端）时生成
+ */
+public class SchedulerEngine {
+
+    public static final int DEFAULT_CORE_COUNT = 4;
+    public static final int MAX_CORE_COUNT = 1024;
+
+    private final List<Core> cores = new ArrayList<>();  // 模拟的CPU核心
+
+    // 到达索引：按到达时刻稳定排序的进程表，arrivalCursor 之前的进程均已进入过就绪队列
+    private ProcessTable table = new ProcessTable();
+    private int arrivalCursor;
+    private int[] finishedOrder = new int[0];        // 完成队列（按完成顺序记录行号）
+    private int finishedCount;
+    private ProcessControlBlock[] views = new ProcessControlBlock[0]; // 已生成的进程视图，按行号缓存
+    private int readyCount;                          // 就绪队列长度
+
+    // 核心状态
+    private int[] selected = new int[0];             // 每步选择结果的缓冲区
+    private int[] runningIndex = new int[0];         // 各核心上运行进程的下标，-1 表示空闲
+    private int[] dispatchTime = new int[0];         // 各核心上的进程本次上核的时刻
+    private int[] remainingAtDispatch = new int[0];  // 各核心上的进程上核时的剩余时间
+    private int[] coreEventTime = new int[0];        // 各忙碌核心的下一个事件时刻（完成或时间片用完）
+    private int[] dueCores = new int[0];             // 本周期到期的核心（按核心编号排列）
+    private final BitSet idleCores = new BitSet();   // 空闲核心位图
+    private int idleCount;
+    private final IndexHeap busyCores = new IndexHeap(this::compareCoreEvents);
+
+    private int currentTime;                 // 当前时刻
+    private ISchedulingAlgorithm algorithm;  // 当前调度算法
+    private StepListener stepListener;       // 步骤观察者（指标采集），为 null 时不计时
+    private TimelineListener timeline;       // 时间线观察者（流式推送），为 null 时不记录进程事件
+
+    public SchedulerEngine() {
+        this(DEFAULT_CORE_COUNT);
+    }
+
+    public SchedulerEngine(int coreCount) {
+        setCoreCount(coreCount);
+    }
+
+    // 设置核心数，所有核心重新置为空闲
+    public void setCoreCount(int coreCount) {
+        if (coreCount < 1 || coreCount > MAX_CORE_COUNT) {
+            throw new IllegalArgumentException("核心数必须在1到" + MAX_CORE_COUNT + "之间");
+        }
+        cores.clear();
+        for (int i = 0; i < coreCount; i++) {
+            cores.add(new Core(i));
+        }
+        selected = new int[coreCount];
+        runningIndex = new int[coreCount];
+        dispatchTime = new int[coreCount];
+        remainingAtDispatch = new int[coreCount];
+        coreEventTime = new int[coreCount];
+        dueCores = new int[coreCount];
+        busyCores.ensureCapacity(coreCount);
+        clearCores();
+    }
+
+    private void clearCores() {
+        for (Core core : cores) {
+            core.setRunningProcess(null);
+        }
+        Arrays.fill(runningIndex, -1);
+        idleCores.clear();
+        idleCores.set(0, cores.size());
+        idleCount = cores.size();
+        busyCores.clear();
+    }
+
+    // 初始化进程列表
+    public void initProcesses(List<ProcessControlBlock> processes) {
+        initProcesses(ProcessTable.of(processes));
+    }
+
+    // 初始化进程列表并设置核心数
+    public void initProcesses(List<ProcessControlBlock> processes, int coreCount) {
+        setCoreCount(coreCount);
+        initProcesses(processes);
+    }
+
+    // 直接使用进程表初始化（如流式读取得到的 trace），进程表会被就地按到达时间排序
+    public void initProcesses(ProcessTable processes, int coreCount) {
+        setCoreCount(coreCount);
+        initProcesses(processes);
+    }
+
+    private void initProcesses(ProcessTable processes) {
+        table = processes;
+        buildArrivalIndex();
+        clearCores();
+        currentTime = 0;
+    }
+
+    /**
+     * 建立到达索引
+     * 逐周期调度时，到达时刻 <= 0 的进程都在第 0 个周期按列表顺序进入就绪队列，
+     * 因此排序键取 max(arrivalTime, 0)，稳定排序保证同一时刻到达的进程保持列表顺序
+     */
+    private void buildArrivalIndex() {
+        table.sortByArrival();
+        arrivalCursor = 0;
+        readyCount = 0;
+        finishedOrder = new int[table.size()];
+        finishedCount = 0;
+        views = new ProcessControlBlock[0];
+        if (algorithm != null) {
+            algorithm.bind(table);
+        }
+    }
+
+    // 调度一步（模拟一个时钟周期）
+    public void step() {
+        StepListener listener = stepListener;
+        long stepStarted = listener != null ? System.nanoTime() : 0;
+        long selectNanos = 0;
+
+        // 1. 更新已到达的进程到readyQueue（只移动到达索引的游标）
+        admitArrivals();
+
+        // 2. 取出本周期到期的核心，回收已完成进程
+        int dueCount = 0;
+        while (!busyCores.isEmpty() && coreEventTime[busyCores.peek()] <= currentTime) {
+            dueCores[dueCount++] = busyCores.poll();
+        }
+        for (int i = 0; i < dueCount; i++) {
+            int core = dueCores[i];
+            int running = runningIndex[core];
+            settle(core);
+            if (table.getRemainingTime(running) <= 0) {
+                table.setStatus(running, ProcessStatus.FINISHED);
+                table.setFinishTime(running, currentTime);
+                finishedOrder[finishedCount++] = running;
+                releaseCore(core);
+                if (timeline != null) timeline.onFinish(core, table.getPid(running));
+            }
+        }
+
+        // 2.5 时间片用完仍未完成的进程被抢占，回到就绪队列队尾（排在本周期新到达的进程之后）
+        for (int i = 0; i < dueCount; i++) {
+            int core = dueCores[i];
+            int index = runningIndex[core];
+            if (index >= 0) {
+                table.setStatus(index, ProcessStatus.READY);
+                releaseCore(core);
+                algorithm.onProcessReady(index);
+                readyCount++;
+                if (timeline != null) timeline.onPreempt(core, table.getPid(index));
+            }
+        }
+
+        // 3. 空闲核分配进程（选中的进程由算法移出就绪结构），按核心编号从小到大分配
+        if (idleCount > 0 && readyCount > 0) {
+            long selectStarted = listener != null ? System.nanoTime() : 0;
+            int count = algorithm.selectProcesses(idleCount, currentTime, selected);
+            if (listener != null) {
+                selectNanos = System.nanoTime() - selectStarted;
+            }
+            readyCount -= count;
+            int core = -1;
+            for (int i = 0; i < count; i++) {
+                core = idleCores.nextSetBit(core + 1);
+                dispatch(core, selected[i]);
+                if (timeline != null) timeline.onDispatch(core, table.getPid(selected[i]));
+            }
+        }
+
+        // 4. 运行中的进程在本周期各运行一个时间单位（剩余时间按上核时刻惰性结算）
+        currentTime++;
+
+        if (timeline != null) {
+            timeline.onStepEnd(currentTime - 1, readyCount);
+        }
+        if (listener != null) {
+            listener.onStep(System.nanoTime() - stepStarted, selectNanos, readyCount, cores.size() - idleCount);
+        }
+    }
+
+    // 把到达时刻 <= currentTime 的进程交给调度算法的就绪结构
+    private void admitArrivals() {
+        while (arrivalCursor < table.size() && table.getArrivalTime(arrivalCursor) <= currentTime) {
+            int index = arrivalCursor++;
+            if (table.isReady(index)) {
+                algorithm.onProcessReady(index);
+                readyCount++;
+                if (timeline != null) timeline.onArrival(table.getPid(index), table.getArrivalTime(index));
+            }
+        }
+    }
+
+    // 进程上核：计算该核心的下一个事件时刻（上核的周期至少运行一次）
+    private void dispatch(int core, int index) {
+        table.setStatus(index, ProcessStatus.RUNNING);
+        if (table.getStartTime(index) == -1) table.setStartTime(index, currentTime);
+        runningIndex[core] = index;
+        dispatchTime[core] = currentTime;
+        remainingAtDispatch[core] = table.getRemainingTime(index);
+
+        int ticks = table.getRemainingTime(index);
+        int timeSlice = algorithm.getTimeSlice();
+        if (timeSlice > 0) {
+            ticks = Math.min(ticks, timeSlice);
+        }
+        coreEventTime[core] = currentTime + Math.max(ticks, 1);
+        idleCores.clear(core);
+        idleCount--;
+        busyCores.offer(core);
+    }
+
+    private void releaseCore(int core) {
+        runningIndex[core] = -1;
+        idleCores.set(core);
+        idleCount++;
+    }
+
+    // 结算核心上的进程截至 currentTime 的剩余时间与周转/等待统计
+    private void settle(int core) {
+        int ran = currentTime - dispatchTime[core];
+        if (ran <= 0) return;
+        int running = runningIndex[core];
+        table.setRemainingTime(running, remainingAtDispatch[core] - ran);
+        // 统计周转（等待时间与带权周转时间由周转时间推算）
+        table.setTurnaroundTime(running, currentTime - table.getArrivalTime(running));
+    }
+
+    // 忙碌核心堆的顺序：事件时刻早的优先，同一时刻按核心编号
+    private int compareCoreEvents(int a, int b) {
+        int result = Integer.compare(coreEventTime[a], coreEventTime[b]);
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    // 一次性跑完全部调度：只在事件时刻执行完整步骤，其余时钟周期直接跳过
+    public void runToEnd() {
+        while (!isAllFinished()) {
+            stepToNextEvent();
+        }
+    }
+
+    // 执行一个完整步骤并把时钟推进到下一个事件时刻（runToEnd 的单次迭代，供逐事件推送使用）
+    public void stepToNextEvent() {
+        step();
+        skipToNextEvent();
+    }
+
+    // 把时钟直接推进到下一个事件时刻（运行中进程的消耗在事件发生时结算）
+    private void skipToNextEvent() {
+        if (isAllFinished()) return;
+        int next = nextEventTime();
+        if (next > currentTime) {
+            currentTime = next;
+        }
+    }
+
+    /**
+     * 计算下一个需要执行完整调度步骤的时刻
+     * - 忙碌核心堆顶的事件（进程完成或时间片用完）
+     * - 有空闲核心时：就绪队列非空则立即调度，否则等待下一个进程到达
+     * 没有空闲核心时到达的进程推迟到下一个事件再成批加入就绪队列，
+     * 由于到达索引有序，成批加入后的就绪队列顺序与逐周期加入完全相同
+     */
+    private int nextEventTime() {
+        int next = busyCores.isEmpty() ? Integer.MAX_VALUE : coreEventTime[busyCores.peek()];
+        if (idleCount > 0) {
+            if (readyCount > 0) return currentTime;
+            if (arrivalCursor < table.size()) {
+                next = Math.min(next, Math.max(table.getArrivalTime(arrivalCursor), currentTime));
+            }
+        }
+        // 没有任何可预期的事件（输入异常），退回逐周期推进
+        return next == Integer.MAX_VALUE ? currentTime : next;
+    }
+
+    // 判断是否全部完成
+    public boolean isAllFinished() {
+        return finishedCount == table.size();
+    }
+
+    // 计算性能指标
+    public ScheduleResult calculatePerformance() {
+        double avgWait = IntStream.range(0, finishedCount).map(i -> table.getWaitingTime(finishedOrder[i])).average().orElse(0);
+        double avgTurn = IntStream.range(0, finishedCount).map(i -> table.getTurnaroundTime(finishedOrder[i])).average().orElse(0);
+        double avgWTurn = IntStream.range(0, finishedCount).mapToDouble(i -> table.getWeightedTurnaroundTime(finishedOrder[i])).average().orElse(0);
+        return new ScheduleResult(getFinishedQueue(), avgWait, avgTurn, avgWTurn);
+    }
+
+    // 重置
+    public void reset() {
+        table.resetState();
+        arrivalCursor = 0;
+        readyCount = 0;
+        finishedCount = 0;
+        if (algorithm != null) {
+            algorithm.bind(table);
+        }
+        clearCores();
+        currentTime = 0;
+    }
+
+    public ProcessTable getProcessTable() {
+        settleAllRunning();
+        return table;
+    }
+
+    // 全部进程的快照，按到达顺序排列
+    public List<ProcessControlBlock> getProcessList() {
+        settleAllRunning();
+        List<ProcessControlBlock> processList = new ArrayList<>(table.size());
+        for (int i = 0; i < table.size(); i++) {
+            processList.add(view(i));
+        }
+        return processList;
+    }
+
+    // 就绪队列快照：已到达且仍处于READY状态的进程，按到达顺序排列
+    public List<ProcessControlBlock> getReadyQueue() {
+        List<ProcessControlBlock> readyQueue = new ArrayList<>(readyCount);
+        for (int i = 0; i < arrivalCursor; i++) {
+            if (table.isReady(i)) {
+                readyQueue.add(view(i));
+            }
+        }
+        return readyQueue;
+    }
+
+    // 完成队列快照，按完成顺序排列
+    public List<ProcessControlBlock> getFinishedQueue() {
+        List<ProcessControlBlock> finishedQueue = new ArrayList<>(finishedCount);
+        for (int i = 0; i < finishedCount; i++) {
+            finishedQueue.add(view(finishedOrder[i]));
+        }
+        return finishedQueue;
+    }
+
+    // 核心快照：先结算运行中进程的剩余时间，保证返回给前端的数据是最新的
+    public List<Core> getCores() {
+        settleAllRunning();
+        for (int core = 0; core < cores.size(); core++) {
+            cores.get(core).setRunningProcess(runningIndex[core] >= 0 ? view(runningIndex[core]) : null);
+        }
+        return cores;
+    }
+
+    /**
+     * 列式快照：复制进程表与就绪队列、核心、完成队列的行号，不生成 ProcessControlBlock
+     * 复制只是若干次数组拷贝，之后可以在引擎锁之外用 ProcessTableWriter 输出
+     */
+    public SchedulerSnapshot snapshot() {
+        settleAllRunning();
+        int[] readyRows = IntStream.range(0, arrivalCursor).filter(table::isReady).toArray();
+        return new SchedulerSnapshot(currentTime, table.copy(), arrivalCursor, readyRows,
+                Arrays.copyOf(runningIndex, cores.size()), Arrays.copyOf(finishedOrder, finishedCount));
+    }
+
+    // 第 row 行进程的视图：同一进程在多次快照之间复用同一个对象，每次读取时刷新其状态
+    private ProcessControlBlock view(int row) {
+        if (views.length < table.size()) {
+            views = Arrays.copyOf(views, table.size());
+        }
+        return views[row] = table.toProcessControlBlock(row, views[row]);
+    }
+
+    private void settleAllRunning() {
+        for (int core = idleCores.nextClearBit(0); core < cores.size(); core = idleCores.nextClearBit(core + 1)) {
+            settle(core);
+        }
+    }
+
+    public int getCoreCount() {
+        return cores.size();
+    }
+
+    public int getCurrentTime() {
+        return currentTime;
+    }
+
+    public void setCurrentTime(int currentTime) {
+        this.currentTime = currentTime;
+    }
+
+    public StepListener getStepListener() {
+        return stepListener;
+    }
+
+    public void setStepListener(StepListener stepListener) {
+        this.stepListener = stepListener;
+    }
+
+    public TimelineListener getTimelineListener() {
+        return timeline;
+    }
+
+    public void setTimelineListener(TimelineListener timeline) {
+        this.timeline = timeline;
+    }
+
+    public ISchedulingAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    // 切换算法时把当前就绪的进程移交给新算法
+    public void setAlgorithm(ISchedulingAlgorithm algorithm) {
+        this.algorithm = algorithm;
+        algorithm.bind(table);
+        for (int i = 0; i < arrivalCursor; i++) {
+            if (table.isReady(i)) {
+                algorithm.onProcessReady(i);
+            }
+        }
+    }
+}
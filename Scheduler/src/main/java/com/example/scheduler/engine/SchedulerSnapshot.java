@@ -0,0 +1,51 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.model.ProcessTable;
+
+/**
+ * 引擎某一时刻的列式快照（见 SchedulerEngine.snapshot()）
+ * 进程表是复制出来的，行号按到达顺序排列，前 arrivedCount 行为已到达的进程；
+ * 就绪队列、核心、完成队列都以行号表示，核心空闲时为 -1
+ */
+public class SchedulerSnapshot {
+
+    private final int currentTime;
+    private final ProcessTable table;
+    private final int arrivedCount;
+    private final int[] readyRows;
+    private final int[] coreRows;
+    private final int[] finishedRows;
+
+    public SchedulerSnapshot(int currentTime, ProcessTable table, int arrivedCount, int[] readyRows, int[] coreRows, int[] finishedRows) {
+        this.currentTime = currentTime;
+        this.table = table;
+        this.arrivedCount = arrivedCount;
+        this.readyRows = readyRows;
+        this.coreRows = coreRows;
+        this.finishedRows = finishedRows;
+    }
+
+    public int getCurrentTime() {
+        return currentTime;
+    }
+
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    public int getArrivedCount() {
+        return arrivedCount;
+    }
+
+    public int[] getReadyRows() {
+        return readyRows;
+    }
+
+    public int[] getCoreRows() {
+        return coreRows;
+    }
+
+    public int[] getFinishedRows() {
+        return finishedRows;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.scheduler.engine;
+
+/**
+ * 调度步骤观察者：引擎每执行完一个完整的调度步骤回调一次（单步与 runToEnd 中的事件步骤都会回调）
+ * 在调度线程上同步调用，实现不应阻塞或分配大量对象
+ */
+@FunctionalInterface
+public interface StepListener {
+
+    /**
+     * @param stepNanos   本步骤的墙上时间（纳秒）
+     * @param selectNanos 本步骤中 selectProcesses 的耗时（纳秒），本步没有调用时为 0
+     * @param readyCount  步骤结束时的就绪队列长度
+     * @param busyCores   步骤结束时的忙碌核心数
+     */
+    void onStep(long stepNanos, long selectNanos, int readyCount, int busyCores);
+}
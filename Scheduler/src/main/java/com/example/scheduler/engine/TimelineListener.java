@@ -0,0 +1,24 @@
+package com.example.scheduler.engine;
+
+/**
+ * 调度时间线观察者：引擎在步骤内每发生一个进程事件就回调一次，步骤结束时回调 onStepEnd
+ * 回调在引擎所在线程上同步执行（持有会话的引擎锁），实现应只做记录，不要阻塞
+ * 进程以 pid 标识，核心以编号标识
+ */
+public interface TimelineListener {
+
+    // 进程进入就绪队列，arrivalTime 为进程自身的到达时刻（可能早于被放入就绪队列的步骤时刻）
+    void onArrival(int pid, int arrivalTime);
+
+    // 进程被分配到核心上运行
+    void onDispatch(int core, int pid);
+
+    // 进程运行完成，核心空闲
+    void onFinish(int core, int pid);
+
+    // 时间片用完，进程被抢占回到就绪队列，核心空闲
+    void onPreempt(int core, int pid);
+
+    // 一个完整步骤结束：time 为该步骤所在的时刻，readyCount 为步骤结束时的就绪队列长度
+    void onStepEnd(int time, int readyCount);
+}
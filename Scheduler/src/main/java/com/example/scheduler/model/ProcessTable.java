@@ -0,0 +1,261 @@
+package com.example.scheduler.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 进程表：按列存储的进程状态（struct-of-arrays），每个进程占一行，行号即引擎与算法中使用的下标
+ * 每行只占若干个 int 和一个 byte，没有对象头与引用，百万级进程时比 ProcessControlBlock 列表省内存、少 GC
+ * 等待时间与带权周转时间由周转时间推算，不单独存储；ProcessControlBlock 只在需要返回给前端时由 toProcessControlBlock 生成
+ */
+public class ProcessTable {
+
+    private static final ProcessStatus[] STATUSES = ProcessStatus.values();
+
+    private int size;
+    private int[] pid;
+    private int[] arrivalTime;
+    private int[] burstTime;
+    private int[] remainingTime;
+    private int[] jobSize;
+    private int[] priority;
+    private int[] startTime;
+    private int[] finishTime;
+    private int[] turnaroundTime; // 最近一次结算时的周转时间，0 表示尚未运行过
+    private byte[] status;        // ProcessStatus 的序号
+
+    public ProcessTable() {
+        this(16);
+    }
+
+    public ProcessTable(int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    // 由进程列表建表，保留列表中已有的运行状态
+    public static ProcessTable of(List<ProcessControlBlock> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (ProcessControlBlock pcb : processes) {
+            int row = table.add(pcb.getPid(), pcb.getArrivalTime(), pcb.getBurstTime(), pcb.getJobSize(), pcb.getPriority());
+            table.remainingTime[row] = pcb.getRemainingTime();
+            table.status[row] = (byte) (pcb.getStatus() != null ? pcb.getStatus() : ProcessStatus.READY).ordinal();
+            table.startTime[row] = pcb.getStartTime();
+            table.finishTime[row] = pcb.getFinishTime();
+            table.turnaroundTime[row] = pcb.getTurnaroundTime();
+        }
+        return table;
+    }
+
+    private void allocate(int capacity) {
+        pid = new int[capacity];
+        arrivalTime = new int[capacity];
+        burstTime = new int[capacity];
+        remainingTime = new int[capacity];
+        jobSize = new int[capacity];
+        priority = new int[capacity];
+        startTime = new int[capacity];
+        finishTime = new int[capacity];
+        turnaroundTime = new int[capacity];
+        status = new byte[capacity];
+    }
+
+    // 追加一个新进程（就绪、未开始），返回其行号
+    public int add(int pid, int arrivalTime, int burstTime, int jobSize, int priority) {
+        if (size == this.pid.length) {
+            grow(size * 2);
+        }
+        int row = size++;
+        this.pid[row] = pid;
+        this.arrivalTime[row] = arrivalTime;
+        this.burstTime[row] = burstTime;
+        this.jobSize[row] = jobSize;
+        this.priority[row] = priority;
+        resetRow(row);
+        return row;
+    }
+
+    private void grow(int capacity) {
+        pid = Arrays.copyOf(pid, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        burstTime = Arrays.copyOf(burstTime, capacity);
+        remainingTime = Arrays.copyOf(remainingTime, capacity);
+        jobSize = Arrays.copyOf(jobSize, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        startTime = Arrays.copyOf(startTime, capacity);
+        finishTime = Arrays.copyOf(finishTime, capacity);
+        turnaroundTime = Arrays.copyOf(turnaroundTime, capacity);
+        status = Arrays.copyOf(status, capacity);
+    }
+
+    // 复制进程表（各列只复制有效的行），用于在引擎锁之外序列化
+    public ProcessTable copy() {
+        ProcessTable copy = new ProcessTable();
+        int capacity = Math.max(size, 1);
+        copy.size = size;
+        copy.pid = Arrays.copyOf(pid, capacity);
+        copy.arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        copy.burstTime = Arrays.copyOf(burstTime, capacity);
+        copy.remainingTime = Arrays.copyOf(remainingTime, capacity);
+        copy.jobSize = Arrays.copyOf(jobSize, capacity);
+        copy.priority = Arrays.copyOf(priority, capacity);
+        copy.startTime = Arrays.copyOf(startTime, capacity);
+        copy.finishTime = Arrays.copyOf(finishTime, capacity);
+        copy.turnaroundTime = Arrays.copyOf(turnaroundTime, capacity);
+        copy.status = Arrays.copyOf(status, capacity);
+        return copy;
+    }
+
+    // 所有进程恢复为初始状态
+    public void resetState() {
+        for (int row = 0; row < size; row++) {
+            resetRow(row);
+        }
+    }
+
+    private void resetRow(int row) {
+        remainingTime[row] = burstTime[row];
+        status[row] = (byte) ProcessStatus.READY.ordinal();
+        startTime[row] = -1;
+        finishTime[row] = -1;
+        turnaroundTime[row] = 0;
+    }
+
+    /**
+     * 按 max(arrivalTime, 0) 稳定排序（同一时刻到达的进程保持原有顺序）
+     * 已经按到达时间有序时只做一次线性检查；否则把 (到达时间, 行号) 打包成 long 排序得到置换，再逐列重排
+     */
+    public void sortByArrival() {
+        boolean sorted = true;
+        for (int row = 1; row < size && sorted; row++) {
+            sorted = Math.max(arrivalTime[row - 1], 0) <= Math.max(arrivalTime[row], 0);
+        }
+        if (sorted) return;
+
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = ((long) Math.max(arrivalTime[row], 0) << 32) | row;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+        pid = permute(pid, order);
+        arrivalTime = permute(arrivalTime, order);
+        burstTime = permute(burstTime, order);
+        remainingTime = permute(remainingTime, order);
+        jobSize = permute(jobSize, order);
+        priority = permute(priority, order);
+        startTime = permute(startTime, order);
+        finishTime = permute(finishTime, order);
+        turnaroundTime = permute(turnaroundTime, order);
+        byte[] sortedStatus = new byte[status.length];
+        for (int i = 0; i < size; i++) {
+            sortedStatus[i] = status[order[i]];
+        }
+        status = sortedStatus;
+    }
+
+    private int[] permute(int[] column, int[] order) {
+        int[] sorted = new int[column.length];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = column[order[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * 把第 row 行的状态写入 pcb（pcb 为 null 时新建），用于生成返回给前端的视图
+     */
+    public ProcessControlBlock toProcessControlBlock(int row, ProcessControlBlock pcb) {
+        if (pcb == null) {
+            pcb = new ProcessControlBlock(pid[row], arrivalTime[row], burstTime[row], jobSize[row], priority[row]);
+        }
+        pcb.setRemainingTime(remainingTime[row]);
+        pcb.setStatus(getStatus(row));
+        pcb.setStartTime(startTime[row]);
+        pcb.setFinishTime(finishTime[row]);
+        pcb.setTurnaroundTime(turnaroundTime[row]);
+        pcb.setWaitingTime(getWaitingTime(row));
+        pcb.setWeightedTurnaroundTime(getWeightedTurnaroundTime(row));
+        return pcb;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getPid(int row) {
+        return pid[row];
+    }
+
+    public int getArrivalTime(int row) {
+        return arrivalTime[row];
+    }
+
+    public int getBurstTime(int row) {
+        return burstTime[row];
+    }
+
+    public int getRemainingTime(int row) {
+        return remainingTime[row];
+    }
+
+    public void setRemainingTime(int row, int remainingTime) {
+        this.remainingTime[row] = remainingTime;
+    }
+
+    public int getJobSize(int row) {
+        return jobSize[row];
+    }
+
+    public int getPriority(int row) {
+        return priority[row];
+    }
+
+    public int getStartTime(int row) {
+        return startTime[row];
+    }
+
+    public void setStartTime(int row, int startTime) {
+        this.startTime[row] = startTime;
+    }
+
+    public int getFinishTime(int row) {
+        return finishTime[row];
+    }
+
+    public void setFinishTime(int row, int finishTime) {
+        this.finishTime[row] = finishTime;
+    }
+
+    public int getTurnaroundTime(int row) {
+        return turnaroundTime[row];
+    }
+
+    public void setTurnaroundTime(int row, int turnaroundTime) {
+        this.turnaroundTime[row] = turnaroundTime;
+    }
+
+    // 等待时间 = 周转时间 - 服务时间（尚未运行过时为 0）
+    public int getWaitingTime(int row) {
+        return turnaroundTime[row] == 0 ? 0 : turnaroundTime[row] - burstTime[row];
+    }
+
+    // 带权周转时间 = 周转时间 / 服务时间（尚未运行过时为 0）
+    public double getWeightedTurnaroundTime(int row) {
+        return turnaroundTime[row] == 0 ? 0 : (double) turnaroundTime[row] / burstTime[row];
+    }
+
+    public ProcessStatus getStatus(int row) {
+        return STATUSES[status[row]];
+    }
+
+    public boolean isReady(int row) {
+        return status[row] == ProcessStatus.READY.ordinal();
+    }
+
+    public void setStatus(int row, ProcessStatus status) {
+        this.status[row] = (byte) status.ordinal();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.algorithm.SchedulingAlgorithmFactory;
+import com.example.scheduler.engine.SchedulerEngine;
+import com.example.scheduler.model.ProcessControlBlock;
+import com.example.scheduler.model.ScheduleResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 批量模拟：N 组负载 × M 种算法，每个组合使用独立的引擎实例，在 ForkJoin 线程池上并行运行
+ * 与 SchedulerService 的单步/交互状态完全隔离
+ */
+@Service
+public class SchedulerBatchService {
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public List<List<ScheduleResult>> runBatch(List<List<ProcessControlBlock>> workloads, List<String> algorithms,
+                                               Integer timeSlice, int coreCount) {
+        // 0. 提交任务前先校验核心数与算法参数，非法参数直接抛出，而不是被包装进 CompletionException
+        new SchedulerEngine(coreCount);
+        for (String algorithm : algorithms) {
+            SchedulingAlgorithmFactory.create(algorithm, timeSlice);
+        }
+
+        // 1. 为每个组合提交一个独立的模拟任务
+        List<List<CompletableFuture<ScheduleResult>>> futures = new ArrayList<>();
+        for (List<ProcessControlBlock> workload : workloads) {
+            List<CompletableFuture<ScheduleResult>> row = new ArrayList<>();
+            for (String algorithm : algorithms) {
+                row.add(CompletableFuture.supplyAsync(() -> simulate(workload, algorithm, timeSlice, coreCount), pool));
+            }
+            futures.add(row);
+        }
+
+        // 2. 按 [负载][算法] 收集结果
+        List<List<ScheduleResult>> results = new ArrayList<>();
+        for (List<CompletableFuture<ScheduleResult>> row : futures) {
+            List<ScheduleResult> resultRow = new ArrayList<>();
+            for (CompletableFuture<ScheduleResult> future : row) {
+                resultRow.add(future.join());
+            }
+            results.add(resultRow);
+        }
+        return results;
+    }
+
+    /**
+     * 在新的引擎实例上跑完一组负载
+     * 引擎把负载复制到自己的进程表中运行，不修改传入的进程对象，因此同一负载可以被多种算法并行使用
+     */
+    public static ScheduleResult simulate(List<ProcessControlBlock> workload, String algorithm, Integer timeSlice, int coreCount) {
+        SchedulerEngine engine = new SchedulerEngine(coreCount);
+        engine.initProcesses(workload);
+        engine.setAlgorithm(SchedulingAlgorithmFactory.create(algorithm, timeSlice));
+        engine.runToEnd();
+        return engine.calculatePerformance();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
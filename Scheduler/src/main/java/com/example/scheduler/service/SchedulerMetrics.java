@@ -0,0 +1,67 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.engine.StepListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 调度引擎的 Micrometer 指标，按算法打标签，发布到 /actuator/metrics 与 /actuator/prometheus
+ * - scheduler.step.latency：每个调度步骤的墙上时间
+ * - scheduler.select.time：selectProcesses 的耗时
+ * - scheduler.ready.depth / scheduler.busy.cores：每步结束时的就绪队列长度与忙碌核心数分布
+ * - scheduler.steps：调度步骤计数，其速率即每秒步数（runToEnd 中只统计事件步骤）
+ * 另有两个不分算法的仪表，给出最近一步的就绪队列长度与忙碌核心数
+ * 每个算法的观察者只创建一次，所有会话共用；指标对象在创建时解析好，每步只做记录
+ */
+public class SchedulerMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, StepListener> listeners = new ConcurrentHashMap<>();
+    private final AtomicInteger lastReadyDepth = new AtomicInteger();
+    private final AtomicInteger lastBusyCores = new AtomicInteger();
+
+    public SchedulerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("scheduler.ready.depth.current", lastReadyDepth, AtomicInteger::get)
+                .description("最近一个调度步骤结束时的就绪队列长度").register(registry);
+        Gauge.builder("scheduler.busy.cores.current", lastBusyCores, AtomicInteger::get)
+                .description("最近一个调度步骤结束时的忙碌核心数").register(registry);
+    }
+
+    // 给定算法（ISchedulingAlgorithm.getName()）的步骤观察者
+    public StepListener listenerFor(String algorithm) {
+        return listeners.computeIfAbsent(algorithm, this::createListener);
+    }
+
+    private StepListener createListener(String algorithm) {
+        Timer stepLatency = Timer.builder("scheduler.step.latency").tag("algorithm", algorithm)
+                .description("每个调度步骤的墙上时间").publishPercentileHistogram().register(registry);
+        Timer selectTime = Timer.builder("scheduler.select.time").tag("algorithm", algorithm)
+                .description("selectProcesses 的耗时").publishPercentileHistogram().register(registry);
+        DistributionSummary readyDepth = DistributionSummary.builder("scheduler.ready.depth").tag("algorithm", algorithm)
+                .description("调度步骤结束时的就绪队列长度").register(registry);
+        DistributionSummary busyCores = DistributionSummary.builder("scheduler.busy.cores").tag("algorithm", algorithm)
+                .description("调度步骤结束时的忙碌核心数").register(registry);
+        Counter steps = Counter.builder("scheduler.steps").tag("algorithm", algorithm)
+                .description("执行的调度步骤数").register(registry);
+        return (stepNanos, selectNanos, readyCount, busy) -> {
+            stepLatency.record(stepNanos, TimeUnit.NANOSECONDS);
+            if (selectNanos > 0) {
+                selectTime.record(selectNanos, TimeUnit.NANOSECONDS);
+            }
+            readyDepth.record(readyCount);
+            busyCores.record(busy);
+            steps.increment();
+            lastReadyDepth.lazySet(readyCount);
+            lastBusyCores.lazySet(busy);
+        };
+    }
+}
@@ -2,144 +2,282 @@ package com.example.scheduler.service;
 
 import com.example.scheduler.model.*;
 import com.example.scheduler.algorithm.ISchedulingAlgorithm;
-import lombok.Data;
-import lombok.Getter;
-import lombok.Setter;
+import com.example.scheduler.dto.SchedulerStatusDTO;
+import com.example.scheduler.engine.ProcessTraceReader;
+import com.example.scheduler.engine.SchedulerEngine;
+import com.example.scheduler.engine.SchedulerSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-@Data
+/**
+ * 按会话隔离的调度服务：每个会话拥有独立的引擎（进程、就绪队列、核心、时钟）
+ * 只有初始化（initProcesses）会创建会话，其余操作只查找已有会话，不存在时抛出 SessionNotFoundException，
+ * 因此只读请求不会挤占会话数、也不会导致其它会话被淘汰
+ * 会话数有上限，超过空闲时间的会话会被回收；同一会话内的操作在引擎上串行执行
+ */
 @Service
 public class SchedulerService {
 
-    @Getter
-    private List<ProcessControlBlock> processList;   // 所有进程
-    @Getter
-    private List<ProcessControlBlock> readyQueue;    // 就绪队列
-    @Getter
-    private List<ProcessControlBlock> finishedQueue; // 完成队列
+    public static final String DEFAULT_SESSION = "default";
+    private static final int MAX_SESSION_ID_LENGTH = 64;
 
-    @Getter
-    private List<Core> cores;                        // 4核模拟
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final int maxSessions;
+    private final long idleTimeoutNanos;
+    private final SchedulerMetrics metrics;
 
-    @Getter
-    @Setter
-    private int currentTime;                         // 当前时刻
+    @Autowired
+    public SchedulerService(@Value("${scheduler.session.max-count:256}") int maxSessions,
+                            @Value("${scheduler.session.idle-timeout:30m}") Duration idleTimeout,
+                            MeterRegistry meterRegistry) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("会话数上限必须为正整数");
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.metrics = new SchedulerMetrics(meterRegistry);
+    }
+
+    // 不在 Spring 容器中使用时（测试、基准测试），指标记录到本地的 SimpleMeterRegistry
+    public SchedulerService(int maxSessions, Duration idleTimeout) {
+        this(maxSessions, idleTimeout, new SimpleMeterRegistry());
+    }
 
-    @Getter
-    @Setter
-    private ISchedulingAlgorithm algorithm;          // 当前调度算法
+    private static final class Session {
+        final SchedulerEngine engine = new SchedulerEngine();
+        volatile long lastAccess;
 
-    public SchedulerService() {
-        this.processList = new ArrayList<>();
-        this.readyQueue = new ArrayList<>();
-        this.finishedQueue = new ArrayList<>();
-        this.cores = new ArrayList<>();
-        for (int i = 0; i < 4; i++) {
-            cores.add(new Core(i));
+        Session(long now) {
+            this.lastAccess = now;
         }
-        this.currentTime = 0;
-        this.algorithm = null;
     }
 
-    // 初始化进程列表（可从前端表单或文件获取）
-    public void initProcesses(List<ProcessControlBlock> processes) {
-        this.processList.clear();
-        this.processList.addAll(processes);
-        this.readyQueue.clear();
-        this.finishedQueue.clear();
-        for (Core core : cores) {
-            core.setRunningProcess(null);
+    // 初始化进程列表（可从前端表单或文件获取）并设置算法
+    // 进程表与算法在同一次引擎锁内设置，其它请求不会看到换了进程表却还没有算法（或仍是旧算法）的会话
+    public void initProcesses(String sessionId, List<ProcessControlBlock> processes, ISchedulingAlgorithm algorithm) {
+        SchedulerEngine engine = createOrGet(sessionId);
+        synchronized (engine) {
+            engine.initProcesses(processes);
+            bindAlgorithm(engine, algorithm);
         }
-        this.currentTime = 0;
-
     }
 
+    // 初始化进程列表并设置核心数与算法
+    public void initProcesses(String sessionId, List<ProcessControlBlock> processes, int coreCount, ISchedulingAlgorithm algorithm) {
+        SchedulerEngine engine = createOrGet(sessionId);
+        synchronized (engine) {
+            engine.initProcesses(processes, coreCount);
+            bindAlgorithm(engine, algorithm);
+        }
+    }
 
+    // 从流式 trace（CSV 或 JSON Lines/JSON 数组）初始化；解析在引擎锁之外进行，返回读取的进程数
+    public int initProcesses(String sessionId, InputStream trace, ProcessTraceReader.Format format, int coreCount,
+                             ISchedulingAlgorithm algorithm) throws IOException {
+        ProcessTraceReader reader = new ProcessTraceReader();
+        reader.read(trace, format);
+        SchedulerEngine engine = createOrGet(sessionId);
+        synchronized (engine) {
+            engine.initProcesses(reader.getTable(), coreCount);
+            bindAlgorithm(engine, algorithm);
+        }
+        return reader.getCount();
+    }
 
-    // 调度一步（模拟一个时间片/时钟周期）
-    public void scheduleStep() {
-        // 1. 更新已到达的进程到readyQueue
-        for (ProcessControlBlock pcb : processList) {
-            if (pcb.getArrivalTime() <= currentTime && pcb.getStatus() == ProcessStatus.READY && !readyQueue.contains(pcb)) {
-                readyQueue.add(pcb);
+    // 调度一步（模拟一个时间片/时钟周期），全部完成后不再推进
+    public void scheduleStep(String sessionId) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            if (!engine.isAllFinished()) {
+                engine.step();
             }
         }
+    }
 
-        // 2. 回收已完成进程
-        for (Core core : cores) {
-            ProcessControlBlock running = core.getRunningProcess();
-            if (running != null && running.getRemainingTime() <= 0 && running.getStatus() != ProcessStatus.FINISHED) {
-                running.setStatus(ProcessStatus.FINISHED);
-                running.setFinishTime(currentTime);
-                finishedQueue.add(running);
-                core.setRunningProcess(null);
-            }
+    // 判断是否全部完成
+    public boolean isAllFinished(String sessionId) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            return engine.isAllFinished();
         }
+    }
 
-        // 3. 空闲核分配进程
-        List<ProcessControlBlock> runnable = algorithm.selectProcesses(readyQueue, cores, currentTime);
-        int coreIndex = 0;
-        for (ProcessControlBlock pcb : runnable) {
-            while (coreIndex < 4 && !cores.get(coreIndex).isIdle()) coreIndex++;
-            if (coreIndex >= 4) break;
-            if (pcb.getStatus() == ProcessStatus.READY) {
-                pcb.setStatus(ProcessStatus.RUNNING);
-                if (pcb.getStartTime() == -1) pcb.setStartTime(currentTime);
-                cores.get(coreIndex).setRunningProcess(pcb);
-            }
+    // 计算性能指标
+    public ScheduleResult calculatePerformance(String sessionId) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            ScheduleResult result = engine.calculatePerformance();
+            result.setProcesses(new ArrayList<>(result.getProcesses()));
+            return result;
         }
-        // 4. 运行中的进程减少剩余时间
-        for (Core core : cores) {
-            ProcessControlBlock running = core.getRunningProcess();
-            if (running != null && running.getStatus() == ProcessStatus.RUNNING) {
-                running.setRemainingTime(running.getRemainingTime() - 1);
-                // 统计等待和周转
-                running.setTurnaroundTime(currentTime + 1 - running.getArrivalTime());
-                running.setWaitingTime(running.getTurnaroundTime() - running.getBurstTime());
-                running.setWeightedTurnaroundTime((double) running.getTurnaroundTime() / running.getBurstTime());
+    }
+
+    // 一次性跑完全部调度（事件驱动，跳过无事件发生的时钟周期）
+    public void runToEnd(String sessionId) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            engine.runToEnd();
+        }
+    }
+
+    /**
+     * 逐事件步骤运行到结束，步骤内的进程事件写入 timeline（流式推送使用）
+     * 与 runToEnd 不同，每个步骤单独持有引擎锁，两步之间其它请求仍可读取状态；timeline 被取消时提前返回
+     * 每个步骤都刷新会话的访问时间，运行时间再长也不会因空闲超时被回收
+     */
+    public void runToEnd(String sessionId, SchedulerTimeline timeline, long stepDelayMillis) throws InterruptedException {
+        Session session = session(sessionId);
+        SchedulerEngine engine = session.engine;
+        while (!timeline.isCancelled()) {
+            synchronized (engine) {
+                session.lastAccess = System.nanoTime();
+                if (engine.isAllFinished()) {
+                    return;
+                }
+                engine.setTimelineListener(timeline);
+                try {
+                    engine.stepToNextEvent();
+                } finally {
+                    engine.setTimelineListener(null);
+                }
+            }
+            if (stepDelayMillis > 0) {
+                Thread.sleep(stepDelayMillis);
             }
         }
-        // 5. 就绪队列去除已分配/已完成进程
-        readyQueue.removeIf(pcb -> pcb.getStatus() != ProcessStatus.READY);
-        currentTime++;
     }
 
-    // 判断是否全部完成
-    public boolean isAllFinished() {
-        return finishedQueue.size() == processList.size();
+    // 重置
+    public void reset(String sessionId) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            engine.reset();
+        }
     }
 
-    // 计算性能指标
-    public ScheduleResult calculatePerformance() {
-        double avgWait = finishedQueue.stream().mapToInt(ProcessControlBlock::getWaitingTime).average().orElse(0);
-        double avgTurn = finishedQueue.stream().mapToInt(ProcessControlBlock::getTurnaroundTime).average().orElse(0);
-        double avgWTurn = finishedQueue.stream().mapToDouble(ProcessControlBlock::getWeightedTurnaroundTime).average().orElse(0);
-        return new ScheduleResult(finishedQueue, avgWait, avgTurn, avgWTurn);
+    // 关闭会话，释放其引擎
+    public void closeSession(String sessionId) {
+        String id = normalize(sessionId);
+        if (sessions.remove(id) == null) {
+            throw new SessionNotFoundException(id);
+        }
     }
 
-    // 一次性跑完全部调度
-    public void runToEnd() {
-        while (!isAllFinished()) {
-            scheduleStep();
+    public void setAlgorithm(String sessionId, ISchedulingAlgorithm algorithm) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            bindAlgorithm(engine, algorithm);
         }
     }
 
-    // 重置
-    public void reset() {
-        for (ProcessControlBlock pcb : processList) {
-            pcb.setStatus(ProcessStatus.READY);
-            pcb.setRemainingTime(pcb.getBurstTime());
-            pcb.setStartTime(-1);
-            pcb.setFinishTime(-1);
-            pcb.setWaitingTime(0);
-            pcb.setTurnaroundTime(0);
-            pcb.setWeightedTurnaroundTime(0);
-        }
-        readyQueue.clear();
-        finishedQueue.clear();
-        for (Core core : cores) core.setRunningProcess(null);
-        currentTime = 0;
-    }
-}
\ No newline at end of file
+    // 调用方持有引擎锁
+    private void bindAlgorithm(SchedulerEngine engine, ISchedulingAlgorithm algorithm) {
+        engine.setAlgorithm(algorithm);
+        engine.setStepListener(metrics.listenerFor(algorithm.getName()));
+    }
+
+    // 当前时刻、就绪队列、核心、完成队列的一致快照（列表已复制，序列化时不受后续调度影响）
+    public SchedulerStatusDTO getStatus(String sessionId) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            return new SchedulerStatusDTO(
+                    engine.getCurrentTime(),
+                    engine.getReadyQueue(),
+                    new ArrayList<>(engine.getCores()),
+                    new ArrayList<>(engine.getFinishedQueue())
+            );
+        }
+    }
+
+    // 列式快照（紧凑编码使用）：锁内只复制进程表的各列，编码输出在锁外进行
+    public SchedulerSnapshot getSnapshot(String sessionId) {
+        SchedulerEngine engine = engine(sessionId);
+        synchronized (engine) {
+            return engine.snapshot();
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private SchedulerEngine engine(String sessionId) {
+        return session(sessionId).engine;
+    }
+
+    // 查找已有会话并刷新访问时间；不存在或已超过空闲时间时抛出 SessionNotFoundException
+    private Session session(String sessionId) {
+        String id = normalize(sessionId);
+        long now = System.nanoTime();
+        Session session = sessions.get(id);
+        if (session != null && now - session.lastAccess > idleTimeoutNanos) {
+            sessions.remove(id, session);
+            session = null;
+        }
+        if (session == null) {
+            throw new SessionNotFoundException(id);
+        }
+        session.lastAccess = now;
+        return session;
+    }
+
+    // 初始化时使用：会话不存在则创建，满员时先回收空闲会话，再淘汰最久未访问的会话
+    private SchedulerEngine createOrGet(String sessionId) {
+        String id = normalize(sessionId);
+        long now = System.nanoTime();
+        Session session = sessions.get(id);
+        if (session == null) {
+            // 新建会话前先回收空闲会话；仍然满员时淘汰最久未访问的会话
+            evictIdle(now);
+            synchronized (sessions) {
+                session = sessions.get(id);
+                if (session == null) {
+                    if (sessions.size() >= maxSessions) {
+                        evictLeastRecentlyUsed();
+                    }
+                    session = new Session(now);
+                    sessions.put(id, session);
+                }
+            }
+        }
+        session.lastAccess = now;
+        return session.engine;
+    }
+
+    private String normalize(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) {
+            return DEFAULT_SESSION;
+        }
+        if (sessionId.length() > MAX_SESSION_ID_LENGTH) {
+            throw new IllegalArgumentException("会话ID长度不能超过" + MAX_SESSION_ID_LENGTH);
+        }
+        return sessionId;
+    }
+
+    private void evictIdle(long now) {
+        sessions.values().removeIf(session -> now - session.lastAccess > idleTimeoutNanos);
+    }
+
+    private void evictLeastRecentlyUsed() {
+        String oldest = null;
+        long oldestAccess = Long.MAX_VALUE;
+        for (Map.Entry<String, Session> entry : sessions.entrySet()) {
+            if (entry.getValue().lastAccess < oldestAccess) {
+                oldestAccess = entry.getValue().lastAccess;
+                oldest = entry.getKey();
+            }
+        }
+        if (oldest != null) {
+            sessions.remove(oldest);
+        }
+    }
+}
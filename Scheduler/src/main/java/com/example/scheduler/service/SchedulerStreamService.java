@@ -0,0 +1,128 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.dto.SchedulerStatusDTO;
+import com.example.scheduler.dto.SchedulerTimelineDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 流式运行：在会话的引擎上逐事件步骤运行到结束，同时把步骤增量推送给客户端
+ * 每次运行使用两个线程：一个推进引擎，一个发送帧；发送阻塞（客户端慢）时步骤在 SchedulerTimeline 中合并，
+ * 引擎不必等待客户端，长时间的运行也不会产生与"步骤数 × 进程数"成正比的数据量
+ * 推送顺序：先发送一次完整状态（status），之后是步骤增量（step），最后一帧为 done
+ */
+@Service
+public class SchedulerStreamService {
+
+    public static final long MAX_STEP_DELAY_MILLIS = 10_000;
+
+    /**
+     * 帧的发送目标（如 SSE 连接），send 抛出异常视为客户端已断开
+     */
+    public interface FrameSink {
+        void send(String event, Object data) throws IOException;
+
+        void complete();
+
+        void fail(Throwable failure);
+    }
+
+    private final SchedulerService schedulerService;
+    private final Semaphore streams;
+    private final int maxStreams;
+    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "scheduler-stream-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    public SchedulerStreamService(SchedulerService schedulerService,
+                                  @Value("${scheduler.stream.max-count:16}") int maxStreams) {
+        if (maxStreams < 1) {
+            throw new IllegalArgumentException("流式运行数上限必须为正整数");
+        }
+        this.schedulerService = schedulerService;
+        this.maxStreams = maxStreams;
+        this.streams = new Semaphore(maxStreams);
+    }
+
+    /**
+     * 开始流式运行，立即返回；调用方在连接关闭时调用返回值的 cancel()
+     * stepDelayMillis 为两个事件步骤之间的间隔，用于前端动画，0 表示全速运行
+     */
+    public SchedulerTimeline stream(String sessionId, long stepDelayMillis, FrameSink sink) {
+        if (stepDelayMillis < 0 || stepDelayMillis > MAX_STEP_DELAY_MILLIS) {
+            throw new IllegalArgumentException("步骤间隔必须在0到" + MAX_STEP_DELAY_MILLIS + "毫秒之间");
+        }
+        if (!streams.tryAcquire()) {
+            throw new StreamLimitExceededException(maxStreams);
+        }
+        try {
+            SchedulerStatusDTO status = schedulerService.getStatus(sessionId);
+            SchedulerTimeline timeline = new SchedulerTimeline();
+            CompletableFuture<Void> runner = CompletableFuture.runAsync(() -> run(sessionId, stepDelayMillis, timeline), executor);
+            CompletableFuture<Void> pump = CompletableFuture.runAsync(() -> pump(status, timeline, sink), executor);
+            CompletableFuture.allOf(runner, pump).whenComplete((ignored, e) -> streams.release());
+            return timeline;
+        } catch (RuntimeException e) {
+            // 会话ID非法或线程池已关闭
+            streams.release();
+            throw e;
+        }
+    }
+
+    private void run(String sessionId, long stepDelayMillis, SchedulerTimeline timeline) {
+        Throwable failure = null;
+        try {
+            schedulerService.runToEnd(sessionId, timeline, stepDelayMillis);
+        } catch (InterruptedException e) {
+            timeline.cancel();
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            timeline.end(failure);
+        }
+    }
+
+    private void pump(SchedulerStatusDTO status, SchedulerTimeline timeline, FrameSink sink) {
+        try {
+            sink.send("status", status);
+            SchedulerTimelineDTO frame;
+            while ((frame = timeline.next()) != null) {
+                sink.send(frame.isDone() ? "done" : "step", frame);
+            }
+            if (timeline.getFailure() != null) {
+                sink.fail(timeline.getFailure());
+            } else if (!timeline.isCancelled()) {
+                sink.complete();
+            }
+        } catch (IOException | RuntimeException e) {
+            // 客户端已断开：停止引擎
+            timeline.cancel();
+            sink.fail(e);
+        } catch (InterruptedException e) {
+            timeline.cancel();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
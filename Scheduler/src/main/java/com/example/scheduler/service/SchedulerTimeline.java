@@ -0,0 +1,117 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.dto.SchedulerTimelineDTO;
+import com.example.scheduler.engine.TimelineListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 一次流式运行的时间线：引擎线程写入步骤事件，推送线程用 next() 取走
+ * 推送线程发送上一帧期间引擎不等待，新的步骤继续合并到待发送的帧里（合并式背压）：
+ * 核心只保留最终分配，因此帧中核心部分的大小与合并的步骤数无关；到达/完成的进程则依次追加，随合并的步骤增长
+ */
+public class SchedulerTimeline implements TimelineListener {
+
+    private int[] corePids = new int[0];
+    private final BitSet changedCores = new BitSet();
+    private List<SchedulerTimelineDTO.Arrival> arrived = new ArrayList<>();
+    private List<Integer> finished = new ArrayList<>();
+    private int fromTime;
+    private int toTime;
+    private int steps;
+    private int readyCount;
+    private boolean ended;     // 引擎不会再写入
+    private boolean doneSent;  // 最后一帧已取走
+    private Throwable failure;
+    private volatile boolean cancelled;
+
+    @Override
+    public synchronized void onArrival(int pid, int arrivalTime) {
+        arrived.add(new SchedulerTimelineDTO.Arrival(pid, arrivalTime));
+    }
+
+    @Override
+    public synchronized void onDispatch(int core, int pid) {
+        setCore(core, pid);
+    }
+
+    @Override
+    public synchronized void onFinish(int core, int pid) {
+        setCore(core, -1);
+        finished.add(pid);
+    }
+
+    @Override
+    public synchronized void onPreempt(int core, int pid) {
+        setCore(core, -1);
+    }
+
+    @Override
+    public synchronized void onStepEnd(int time, int readyCount) {
+        if (steps == 0) {
+            fromTime = time;
+        }
+        toTime = time;
+        steps++;
+        this.readyCount = readyCount;
+        notifyAll();
+    }
+
+    private void setCore(int core, int pid) {
+        if (core >= corePids.length) {
+            corePids = Arrays.copyOf(corePids, core + 1);
+        }
+        corePids[core] = pid;
+        changedCores.set(core);
+    }
+
+    // 引擎运行结束（全部完成、被取消或出错）
+    public synchronized void end(Throwable failure) {
+        ended = true;
+        this.failure = failure;
+        notifyAll();
+    }
+
+    // 客户端断开或主动关闭：引擎在下一个步骤之前停止，next() 立即返回 null
+    public void cancel() {
+        cancelled = true;
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public synchronized Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * 取走自上一帧以来累积的全部步骤，合并成一帧；没有新步骤时阻塞等待
+     * 引擎运行结束后最后一帧的 done 为 true，之后（或被取消时）返回 null
+     */
+    public synchronized SchedulerTimelineDTO next() throws InterruptedException {
+        while (steps == 0 && !ended && !cancelled) {
+            wait();
+        }
+        if (cancelled || doneSent || (ended && failure != null)) {
+            return null;
+        }
+        List<SchedulerTimelineDTO.CoreChange> cores = new ArrayList<>(changedCores.cardinality());
+        for (int core = changedCores.nextSetBit(0); core >= 0; core = changedCores.nextSetBit(core + 1)) {
+            cores.add(new SchedulerTimelineDTO.CoreChange(core, corePids[core]));
+        }
+        SchedulerTimelineDTO frame = new SchedulerTimelineDTO(fromTime, toTime, steps, readyCount, cores, arrived, finished, ended);
+        changedCores.clear();
+        arrived = new ArrayList<>();
+        finished = new ArrayList<>();
+        steps = 0;
+        doneSent = ended;
+        return frame;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.scheduler.service;
+
+/**
+ * 会话不存在（从未初始化、已关闭、或因空闲超时/会话数上限被回收），控制器返回 404
+ */
+public class SessionNotFoundException extends RuntimeException {
+
+    public SessionNotFoundException(String sessionId) {
+        super("会话不存在或已过期，请先初始化: " + sessionId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.scheduler.service;
+
+/**
+ * 同时进行的流式运行数已达上限（scheduler.stream.max-count），控制器返回 503，客户端稍后重试
+ */
+public class StreamLimitExceededException extends RuntimeException {
+
+    public StreamLimitExceededException(int maxStreams) {
+        super("同时进行的流式运行已达上限（" + maxStreams + "），请稍后重试");
+    }
+}
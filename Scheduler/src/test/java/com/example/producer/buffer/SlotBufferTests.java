@@ -0,0 +1,181 @@
+package com.example.producer.buffer;
+
+import com.example.producer.model.BufferItem;
+import com.example.producer.model.SlotState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SlotBufferTests {
+
+    @Test
+    void slotsFollowTheStateMachineInEveryMode() {
+        for (String mode : new String[]{SlotBufferFactory.INDEXED, SlotBufferFactory.RING, SlotBufferFactory.SYNCHRONIZED}) {
+            SlotBuffer buffer = SlotBufferFactory.create(mode, 2);
+
+            int first = buffer.tryClaimProduction("P1", () -> 7);
+            int second = buffer.tryClaimProduction("P2", () -> 8);
+            assertEquals(-1, buffer.tryClaimProduction("P3", () -> 9), mode);
+            assertEquals(SlotState.PRODUCING, buffer.snapshot(first).getState(), mode);
+            // 还没有生产完成的物品
+            assertEquals(-1, buffer.tryClaimConsumption("C1"), mode);
+            assertFalse(buffer.completeProduction(first, "P2"), mode);
+
+            assertTrue(buffer.completeProduction(first, "P1"), mode);
+            // 重复完成不会再次发布槽位
+            assertFalse(buffer.completeProduction(first, "P1"), mode);
+            assertTrue(buffer.completeProduction(second, "P2"), mode);
+            int consumed = buffer.tryClaimConsumption("C1");
+            // synchronized 模式的消费者从上次扫描位置的下一个槽位开始找，不一定先拿到先完成的物品
+            if (!SlotBufferFactory.SYNCHRONIZED.equals(mode)) {
+                assertEquals(first, consumed, mode);
+            }
+            assertEquals(SlotState.CONSUMING, buffer.snapshot(consumed).getState(), mode);
+            assertNull(buffer.completeConsumption(consumed, "C2"), mode);
+
+            BufferItem item = buffer.completeConsumption(consumed, "C1");
+            assertEquals(consumed == first ? 7 : 8, item.getValue(), mode);
+            assertEquals(SlotState.CONSUMED, item.getState(), mode);
+            assertTrue(item.isConsumed(), mode);
+            assertNull(buffer.completeConsumption(consumed, "C1"), mode);
+            // 已消费的槽位可以再次生产
+            assertEquals(consumed, buffer.tryClaimProduction("P3", () -> 9), mode);
+        }
+    }
+
+    // 未指定或未知的模式使用 indexed，原有的加锁扫描实现只在显式指定 synchronized 时使用
+    @Test
+    void modesSelectTheirImplementation() {
+        assertTrue(SlotBufferFactory.create(null, 1) instanceof IndexedSlotBuffer);
+        assertTrue(SlotBufferFactory.create("unknown", 1) instanceof IndexedSlotBuffer);
+        assertTrue(SlotBufferFactory.create("RING", 1) instanceof RingSlotBuffer);
+        assertTrue(SlotBufferFactory.create("synchronized", 1) instanceof SynchronizedSlotBuffer);
+    }
+
+    @Test
+    void indexedBufferHandsOutItemsInCompletionOrder() {
+        SlotBuffer buffer = SlotBufferFactory.create(SlotBufferFactory.INDEXED, 1 << 20);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals(i, buffer.tryClaimProduction("P", () -> 0));
+        }
+        assertEquals(-1, buffer.tryClaimProduction("P", () -> 0));
+
+        // 后认领的槽位先完成，消费者直接拿到它，不必等前面的槽位
+        int last = buffer.capacity() - 1;
+        assertTrue(buffer.completeProduction(last, "P"));
+        assertEquals(last, buffer.tryClaimConsumption("C"));
+        assertEquals(-1, buffer.tryClaimConsumption("C"));
+        buffer.completeConsumption(last, "C");
+        assertEquals(last, buffer.tryClaimProduction("P", () -> 0));
+    }
+
+    // 很多线程争抢很小的缓冲区：出队线程在推进读位置与写回序号之间被挂起时，入队线程要等它而不是报满；
+    // 跑完之后每个槽位都必须还能被认领，没有下标丢失
+    @Test
+    void indexedBufferLosesNoSlotUnderContention() throws InterruptedException {
+        SlotBuffer buffer = SlotBufferFactory.create(SlotBufferFactory.INDEXED, 2);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> actors = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            String id = "A" + t;
+            actors.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 20_000; i++) {
+                        int produced = buffer.tryClaimProduction(id, () -> 1);
+                        if (produced >= 0) {
+                            buffer.completeProduction(produced, id);
+                        }
+                        int consumed = buffer.tryClaimConsumption(id);
+                        if (consumed >= 0) {
+                            buffer.completeConsumption(consumed, id);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+        actors.forEach(Thread::start);
+        for (Thread actor : actors) {
+            actor.join();
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+
+        int consumed;
+        while ((consumed = buffer.tryClaimConsumption("C")) >= 0) {
+            assertTrue(buffer.completeConsumption(consumed, "C") != null);
+        }
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertTrue(buffer.tryClaimProduction("P", () -> 0) >= 0, "slot " + i + " was lost");
+        }
+        assertEquals(-1, buffer.tryClaimProduction("P", () -> 0));
+    }
+
+    // 复现上面的竞争：消费者 A 推进了读位置后停在写回序号之前，消费者 B 取走并放回另一个下标时会绕回 A 的格子，
+    // 这时 offer 必须等待 A 写完，而不是抛出"队列已满"
+    @Test
+    void offerWaitsForAStalledPoll() throws Exception {
+        IndexQueue queue = new IndexQueue(2);
+        queue.fillAll();
+        AtomicLong dequeuePosition = (AtomicLong) field("dequeuePosition").get(queue);
+        AtomicLongArray sequence = (AtomicLongArray) field("sequence").get(queue);
+        // A 认领了位置 0（格子 0，下标 0），还没有写回序号
+        assertTrue(dequeuePosition.compareAndSet(0, 1));
+
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger polled = new AtomicInteger(-1);
+        Thread consumerB = new Thread(() -> {
+            try {
+                polled.set(queue.poll());
+                queue.offer(polled.get());
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        consumerB.start();
+        consumerB.join(200);
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(1, polled.get());
+        assertTrue(consumerB.isAlive(), "offer should wait for the stalled poll");
+
+        // A 写回序号，B 的 offer 随即完成
+        sequence.set(0, 2);
+        consumerB.join(TimeUnit.SECONDS.toMillis(5));
+        if (consumerB.isAlive()) {
+            fail("offer did not finish after the poll released its cell");
+        }
+        assertEquals(1, queue.poll());
+        assertEquals(-1, queue.poll());
+    }
+
+    private static Field field(String name) throws NoSuchFieldException {
+        Field field = IndexQueue.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    @Test
+    void statesAreSerializedWithTheirLabels() throws Exception {
+        BufferItem item = new BufferItem();
+        item.setState(SlotState.PRODUCING);
+
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(item);
+
+        assertTrue(json.contains("\"state\":\"生产中\""), json);
+    }
+}
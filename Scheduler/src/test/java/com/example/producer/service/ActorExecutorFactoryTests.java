@@ -0,0 +1,56 @@
+package com.example.producer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActorExecutorFactoryTests {
+
+    // 在构建所用的 JDK 上：支持虚拟线程时任务跑在虚拟线程上，否则退回平台线程
+    @Test
+    void virtualModeUsesVirtualThreadsWhenAvailable() throws Exception {
+        ExecutorService executor = ActorExecutorFactory.create(ActorExecutorFactory.VIRTUAL, 4);
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertEquals(ActorExecutorFactory.isVirtualThreadSupported(), isVirtual(thread));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 大量生产者/消费者：有虚拟线程时可以创建，退回平台线程时拒绝，而不是创建同样多的操作系统线程
+    @Test
+    void largeActorCountsNeedVirtualThreads() {
+        int actors = 100_000;
+        if (ActorExecutorFactory.isVirtualThreadSupported()) {
+            ActorExecutorFactory.create(ActorExecutorFactory.VIRTUAL, actors).shutdownNow();
+        } else {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> ActorExecutorFactory.create(ActorExecutorFactory.VIRTUAL, actors));
+            assertTrue(e.getMessage().contains("虚拟线程"), e.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> ActorExecutorFactory.create(ActorExecutorFactory.PLATFORM, ActorExecutorFactory.MAX_PLATFORM_ACTORS + 1));
+        ActorExecutorFactory.create(ActorExecutorFactory.PLATFORM, ActorExecutorFactory.MAX_PLATFORM_ACTORS).shutdownNow();
+
+        // 初始化时就拒绝，之前的状态保持不变
+        ProducerConsumerService service = new ProducerConsumerService();
+        service.init(4, 2, 2, 1000, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> service.init(4, 1, ActorExecutorFactory.MAX_PLATFORM_ACTORS + 1,
+                1000, 0, 0, null, null, ActorExecutorFactory.PLATFORM));
+        assertEquals(2, service.getStatus().getConsumers().size());
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.producer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLogTests {
+
+    @Test
+    void keepsTheLatestEventsAndRendersThemOnRead() {
+        EventLog log = new EventLog(3, new StatusChangeTracker());
+        log.add("模拟已开始");
+        log.add(EventLog.Type.PRODUCE_STARTED, "P1", 0, 1);
+        log.add(EventLog.Type.PRODUCE_COMPLETED, "P1", 0, 1);
+        log.add(EventLog.Type.CONSUME_COMPLETED, "C2", 0, 1);
+
+        List<String> lines = log.render();
+
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).matches("\\[\\d{2}:\\d{2}:\\d{2}] P1 在槽位 0 开始生产"), lines.get(0));
+        assertTrue(lines.get(1).endsWith("] P1 在槽位 0 完成了物品 1"), lines.get(1));
+        assertTrue(lines.get(2).endsWith("] C2 在槽位 0 消费完成物品 1"), lines.get(2));
+    }
+}
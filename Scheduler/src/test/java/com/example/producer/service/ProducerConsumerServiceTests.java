@@ -0,0 +1,46 @@
+package com.example.producer.service;
+
+import com.example.producer.dto.ProducerConsumerDeltaDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProducerConsumerServiceTests {
+
+    @Test
+    void statusDeltaReturnsOnlyWhatChangedSinceTheLastVersion() throws InterruptedException {
+        ProducerConsumerService service = new ProducerConsumerService();
+        service.init(4, 1, 1, 1000, 0, 0);
+
+        ProducerConsumerDeltaDTO first = service.getStatusDelta(0);
+        assertTrue(first.isFull());
+        assertEquals(4, first.getBuffer().size());
+        assertEquals(1, first.getProducers().size());
+        assertEquals(1, first.getLogs().size());
+
+        ProducerConsumerDeltaDTO unchanged = service.getStatusDelta(first.getVersion());
+        assertFalse(unchanged.isFull());
+        assertTrue(unchanged.getBuffer().isEmpty());
+        assertTrue(unchanged.getProducers().isEmpty());
+        assertTrue(unchanged.getLogs().isEmpty());
+
+        service.startSimulation();
+        while (service.getStatus().getStats().getTotalConsumed() == 0) {
+            Thread.sleep(1);
+        }
+        service.stopSimulation();
+        ProducerConsumerDeltaDTO changed = service.getStatusDelta(unchanged.getVersion());
+        assertFalse(changed.isFull());
+        assertFalse(changed.getBuffer().isEmpty());
+        assertEquals(1, changed.getConsumers().size());
+        assertFalse(changed.getLogs().isEmpty());
+
+        // 重新设置缓冲区大小后，旧版本号只能拿到全量
+        service.setBufferSize(2);
+        ProducerConsumerDeltaDTO resized = service.getStatusDelta(changed.getVersion());
+        assertTrue(resized.isFull());
+        assertEquals(2, resized.getBuffer().size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.producer.service;
+
+import com.example.producer.dto.ProducerConsumerDeltaDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProducerConsumerStreamServiceTests {
+
+    // 第一帧为全量，之后只在有变化时推送，空闲时不再发送帧
+    @Test
+    void pushesChangesAtTheConfiguredRateAndStaysQuietWhenIdle() throws InterruptedException {
+        ProducerConsumerService service = new ProducerConsumerService();
+        service.init(8, 2, 2, 1000, 0, 0);
+        ProducerConsumerStreamService streamService = new ProducerConsumerStreamService(service, 30, 1);
+        List<ProducerConsumerDeltaDTO> frames = new CopyOnWriteArrayList<>();
+        ProducerConsumerStreamService.Subscription subscription = streamService.subscribe(50, new ProducerConsumerStreamService.FrameSink() {
+            @Override
+            public void send(ProducerConsumerDeltaDTO frame) {
+                frames.add(frame);
+            }
+
+            @Override
+            public void heartbeat() {
+            }
+
+            @Override
+            public void fail(Throwable failure) {
+            }
+        });
+
+        // 上限为 1：第二个订阅被拒绝（控制器返回 503）
+        assertThrows(SubscriptionLimitExceededException.class, () -> streamService.subscribe(null, null));
+
+        service.startSimulation();
+        Thread.sleep(300);
+        service.stopSimulation();
+        Thread.sleep(100);
+        int afterStop = frames.size();
+        Thread.sleep(200);
+
+        assertTrue(frames.get(0).isFull());
+        assertEquals(8, frames.get(0).getBuffer().size());
+        assertTrue(frames.size() > 2, "frames " + frames.size());
+        // 300ms 内吞吐量可达数万物品，50 Hz 的推送最多约 15 帧
+        assertTrue(frames.size() <= 20, "frames " + frames.size());
+        assertFalse(frames.get(frames.size() - 1).isFull());
+        assertEquals(afterStop, frames.size());
+
+        subscription.cancel();
+        streamService.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.scheduler.algorithm;
+
+import com.example.scheduler.model.ProcessControlBlock;
+import com.example.scheduler.model.ProcessTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HRNAlgorithmTests {
+
+    // 锦标赛树的选择结果必须与"每次按响应比全排序"完全一致
+    @Test
+    void selectionMatchesFullSortByResponseRatio() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int count = 1 + random.nextInt(80);
+            ProcessControlBlock[] processes = new ProcessControlBlock[count];
+            for (int i = 0; i < count; i++) {
+                processes[i] = new ProcessControlBlock(i, random.nextInt(50), 1 + random.nextInt(15), 1, 0);
+            }
+            HRNAlgorithm algorithm = new HRNAlgorithm();
+            algorithm.bind(ProcessTable.of(Arrays.asList(processes)));
+            List<Integer> ready = new ArrayList<>();
+            int next = 0;
+            for (int time = 0; next < count || !ready.isEmpty(); time += 1 + random.nextInt(6)) {
+                // 随机加入一批进程，再随机选出若干个
+                int arrivals = random.nextInt(6);
+                for (int i = 0; i < arrivals && next < count; i++, next++) {
+                    algorithm.onProcessReady(next);
+                    ready.add(next);
+                }
+                int freeCores = random.nextInt(4);
+                int[] selected = new int[freeCores];
+                int picked = algorithm.selectProcesses(freeCores, time, selected);
+
+                int[] expected = expectedSelection(processes, ready, freeCores, time);
+                assertEquals(expected.length, picked);
+                assertArrayEquals(expected, Arrays.copyOf(selected, picked), "round " + round + " time " + time);
+                for (int index : expected) {
+                    ready.remove(Integer.valueOf(index));
+                }
+            }
+        }
+    }
+
+    @Test
+    void zeroRemainingTimeIsSelectedFirst() {
+        ProcessControlBlock[] processes = {
+                new ProcessControlBlock(1, 0, 5, 1, 0),
+                new ProcessControlBlock(2, 3, 0, 1, 0)
+        };
+        HRNAlgorithm algorithm = new HRNAlgorithm();
+        algorithm.bind(ProcessTable.of(Arrays.asList(processes)));
+        algorithm.onProcessReady(0);
+        algorithm.onProcessReady(1);
+
+        int[] selected = new int[1];
+        assertEquals(1, algorithm.selectProcesses(1, 3, selected));
+        assertEquals(1, selected[0]);
+    }
+
+    private static int[] expectedSelection(ProcessControlBlock[] processes, List<Integer> ready, int freeCores, int time) {
+        List<Integer> sorted = new ArrayList<>(ready);
+        sorted.sort((a, b) -> {
+            double r1 = ((double) time - processes[a].getArrivalTime() + processes[a].getRemainingTime()) / processes[a].getRemainingTime();
+            double r2 = ((double) time - processes[b].getArrivalTime() + processes[b].getRemainingTime()) / processes[b].getRemainingTime();
+            int result = Double.compare(r2, r1);
+            return result != 0 ? result : Integer.compare(a, b);
+        });
+        return sorted.stream().limit(freeCores).mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.model.ProcessControlBlock;
+import com.example.scheduler.model.ProcessStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 参考实现（只用于测试）：重构前 SchedulerService.scheduleStep 逐周期调度循环与各算法排序规则的副本
+ * 在原样的基础上只加入了后来明确改变语义的两点：核心数可配置、时间片轮转在时间片用完时抢占（回到就绪队列队尾）
+ * 不做任何优化，每个周期重新扫描全部进程，用来检查事件驱动引擎与最初的逐周期语义是否一致
+ */
+final class BaselineScheduler {
+
+    enum Policy { FCFS, SJF, PRIORITY, HRN, RR }
+
+    private final List<ProcessControlBlock> processList = new ArrayList<>();
+    private final List<ProcessControlBlock> readyQueue = new ArrayList<>();
+    private final List<ProcessControlBlock> finishedQueue = new ArrayList<>();
+    private final ProcessControlBlock[] cores;
+    private final Map<ProcessControlBlock, Integer> sliceUsed = new IdentityHashMap<>();
+    private final Policy policy;
+    private final int timeSlice;
+    private int currentTime;
+
+    BaselineScheduler(List<ProcessControlBlock> processes, Policy policy, int timeSlice, int coreCount) {
+        for (ProcessControlBlock pcb : processes) {
+            processList.add(new ProcessControlBlock(pcb.getPid(), pcb.getArrivalTime(), pcb.getBurstTime(), pcb.getJobSize(), pcb.getPriority()));
+        }
+        this.policy = policy;
+        this.timeSlice = policy == Policy.RR ? timeSlice : 0;
+        this.cores = new ProcessControlBlock[coreCount];
+    }
+
+    // 运行到全部完成，返回完成队列
+    List<ProcessControlBlock> runToEnd() {
+        while (finishedQueue.size() < processList.size()) {
+            step();
+        }
+        return finishedQueue;
+    }
+
+    int getCurrentTime() {
+        return currentTime;
+    }
+
+    private void step() {
+        // 1. 更新已到达的进程到readyQueue
+        for (ProcessControlBlock pcb : processList) {
+            if (pcb.getArrivalTime() <= currentTime && pcb.getStatus() == ProcessStatus.READY && !readyQueue.contains(pcb)) {
+                readyQueue.add(pcb);
+            }
+        }
+
+        // 2. 回收已完成进程
+        for (int c = 0; c < cores.length; c++) {
+            ProcessControlBlock running = cores[c];
+            if (running != null && running.getRemainingTime() <= 0 && running.getStatus() != ProcessStatus.FINISHED) {
+                running.setStatus(ProcessStatus.FINISHED);
+                running.setFinishTime(currentTime);
+                finishedQueue.add(running);
+                cores[c] = null;
+            }
+        }
+
+        // 2.5 时间片用完仍未完成的进程被抢占，回到就绪队列队尾
+        if (timeSlice > 0) {
+            for (int c = 0; c < cores.length; c++) {
+                ProcessControlBlock running = cores[c];
+                if (running != null && sliceUsed.get(running) >= timeSlice) {
+                    running.setStatus(ProcessStatus.READY);
+                    readyQueue.add(running);
+                    cores[c] = null;
+                }
+            }
+        }
+
+        // 3. 空闲核分配进程，按核心编号从小到大
+        List<ProcessControlBlock> runnable = select();
+        int coreIndex = 0;
+        for (ProcessControlBlock pcb : runnable) {
+            while (coreIndex < cores.length && cores[coreIndex] != null) coreIndex++;
+            if (coreIndex >= cores.length) break;
+            pcb.setStatus(ProcessStatus.RUNNING);
+            if (pcb.getStartTime() == -1) pcb.setStartTime(currentTime);
+            cores[coreIndex] = pcb;
+            sliceUsed.put(pcb, 0);
+        }
+
+        // 4. 运行中的进程减少剩余时间
+        for (ProcessControlBlock running : cores) {
+            if (running != null && running.getStatus() == ProcessStatus.RUNNING) {
+                running.setRemainingTime(running.getRemainingTime() - 1);
+                running.setTurnaroundTime(currentTime + 1 - running.getArrivalTime());
+                running.setWaitingTime(running.getTurnaroundTime() - running.getBurstTime());
+                running.setWeightedTurnaroundTime((double) running.getTurnaroundTime() / running.getBurstTime());
+                sliceUsed.merge(running, 1, Integer::sum);
+            }
+        }
+
+        // 5. 就绪队列去除已分配/已完成进程
+        readyQueue.removeIf(pcb -> pcb.getStatus() != ProcessStatus.READY);
+        currentTime++;
+    }
+
+    // 各算法原有的排序规则（稳定排序，相同的键保持就绪队列中的顺序）
+    private List<ProcessControlBlock> select() {
+        if (policy == Policy.FCFS) {
+            readyQueue.sort(Comparator.comparingInt(ProcessControlBlock::getArrivalTime));
+        }
+        List<ProcessControlBlock> readyList = new ArrayList<>(readyQueue);
+        switch (policy) {
+            case SJF:
+                readyList.sort(Comparator.comparingInt(ProcessControlBlock::getRemainingTime));
+                break;
+            case PRIORITY:
+                readyList.sort(Comparator.comparingInt(ProcessControlBlock::getPriority).reversed()
+                        .thenComparingInt(ProcessControlBlock::getArrivalTime));
+                break;
+            case HRN:
+                readyList.sort((a, b) -> Double.compare(responseRatio(b), responseRatio(a)));
+                break;
+            default:
+                // FCFS 已按到达时间排好；RR 按就绪队列顺序轮转
+                break;
+        }
+        return readyList;
+    }
+
+    private double responseRatio(ProcessControlBlock pcb) {
+        int waitingTime = currentTime - pcb.getArrivalTime();
+        int burstTime = pcb.getRemainingTime();
+        return ((double) waitingTime + burstTime) / burstTime;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.algorithm.RoundRobinAlgorithm;
+import com.example.scheduler.model.ProcessControlBlock;
+import com.example.scheduler.model.ScheduleResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProcessTableWriterTests {
+
+    // 两种紧凑编码解码后与 JSON 接口使用的 ScheduleResult 一致
+    @Test
+    void compactPerformanceMatchesScheduleResult() throws IOException {
+        SchedulerEngine engine = new SchedulerEngine(2);
+        List<ProcessControlBlock> processes = new ArrayList<>();
+        for (int pid = 1; pid <= 50; pid++) {
+            processes.add(new ProcessControlBlock(pid, pid % 9, 1 + pid % 6, 10, pid % 4));
+        }
+        engine.initProcesses(processes);
+        engine.setAlgorithm(new RoundRobinAlgorithm(2));
+        engine.runToEnd();
+        ScheduleResult expected = engine.calculatePerformance();
+        SchedulerSnapshot snapshot = engine.snapshot();
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        ProcessTableWriter.writePerformance(snapshot, binary, ProcessTableWriter.Format.COLUMNAR);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(binary.toByteArray()));
+        assertEquals(0x53434844, in.readInt());
+        assertEquals(1, in.readInt());
+        assertEquals(2, in.readByte());
+        assertEquals(expected.getAvgWaitingTime(), in.readDouble(), 1e-9);
+        assertEquals(expected.getAvgTurnaroundTime(), in.readDouble(), 1e-9);
+        assertEquals(expected.getAvgWeightedTurnaroundTime(), in.readDouble(), 1e-9);
+        int count = in.readInt();
+        assertEquals(50, count);
+        int[][] columns = new int[9][count];
+        for (int[] column : columns) {
+            for (int i = 0; i < count; i++) {
+                column[i] = in.readInt();
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            ProcessControlBlock pcb = expected.getProcesses().get(i);
+            assertEquals(pcb.getPid(), columns[0][i]);
+            assertEquals(pcb.getFinishTime(), columns[7][i]);
+            assertEquals(pcb.getTurnaroundTime(), columns[8][i]);
+            assertEquals(pcb.getStatus().ordinal(), in.readByte());
+        }
+
+        ByteArrayOutputStream tuples = new ByteArrayOutputStream();
+        ProcessTableWriter.writePerformance(snapshot, tuples, ProcessTableWriter.Format.TUPLES);
+        JsonNode json = new ObjectMapper().readTree(tuples.toByteArray());
+        assertEquals(expected.getAvgTurnaroundTime(), json.get("avgTurnaroundTime").asDouble(), 1e-9);
+        assertEquals(50, json.get("processes").size());
+        for (int i = 0; i < count; i++) {
+            JsonNode tuple = json.get("processes").get(i);
+            assertEquals(expected.getProcesses().get(i).getPid(), tuple.get(0).asInt());
+            assertEquals(expected.getProcesses().get(i).getWaitingTime(), tuple.get(8).asInt() - tuple.get(2).asInt());
+        }
+    }
+}
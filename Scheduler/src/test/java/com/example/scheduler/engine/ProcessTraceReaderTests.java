@@ -0,0 +1,52 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.model.ProcessTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProcessTraceReaderTests {
+
+    @Test
+    void readsCsvWithReorderedHeader() throws IOException {
+        ProcessTraceReader reader = read("burstTime, pid ,arrivalTime\n3,1,0\n\n2,2,-1\n", ProcessTraceReader.Format.CSV);
+
+        assertEquals(2, reader.getCount());
+        assertEquals("1:0/3/0/0", describe(reader.getTable(), 0));
+        assertEquals("2:-1/2/0/0", describe(reader.getTable(), 1));
+    }
+
+    @Test
+    void readsJsonLinesAndJsonArrays() throws IOException {
+        String line = "{\"pid\":1,\"arrivalTime\":4,\"burstTime\":5,\"jobSize\":6,\"priority\":7,\"status\":\"READY\"}";
+        ProcessTraceReader lines = read(line + "\n" + line.replace("\"pid\":1", "\"pid\":2") + "\n", ProcessTraceReader.Format.JSON);
+        ProcessTraceReader array = read("[" + line + "]", ProcessTraceReader.Format.JSON);
+
+        assertEquals(2, lines.getCount());
+        assertEquals("2:4/5/6/7", describe(lines.getTable(), 1));
+        assertEquals(1, array.getCount());
+        assertEquals("1:4/5/6/7", describe(array.getTable(), 0));
+    }
+
+    @Test
+    void rejectsRowsWithoutRequiredFields() {
+        assertThrows(IllegalArgumentException.class, () -> read("1,0\n", ProcessTraceReader.Format.CSV));
+        assertThrows(IllegalArgumentException.class, () -> read("1,x,3\n", ProcessTraceReader.Format.CSV));
+        assertThrows(IllegalArgumentException.class, () -> read("{\"pid\":1}", ProcessTraceReader.Format.JSON));
+    }
+
+    private static ProcessTraceReader read(String text, ProcessTraceReader.Format format) throws IOException {
+        ProcessTraceReader reader = new ProcessTraceReader();
+        reader.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), format);
+        return reader;
+    }
+
+    private static String describe(ProcessTable table, int row) {
+        return table.getPid(row) + ":" + table.getArrivalTime(row) + "/" + table.getBurstTime(row) + "/" + table.getJobSize(row) + "/" + table.getPriority(row);
+    }
+}
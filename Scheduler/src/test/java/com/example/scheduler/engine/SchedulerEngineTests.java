@@ -0,0 +1,206 @@
+package com.example.scheduler.engine;
+
+import com.example.scheduler.algorithm.*;
+import com.example.scheduler.model.ProcessControlBlock;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SchedulerEngineTests {
+
+    private static final List<Supplier<ISchedulingAlgorithm>> ALGORITHMS = List.of(
+            FCFSAlgorithm::new,
+            SJFAlgorithm::new,
+            PriorityAlgorithm::new,
+            HRNAlgorithm::new,
+            () -> new RoundRobinAlgorithm(2)
+    );
+
+    // 事件驱动的 runToEnd 必须与逐周期 step 的结果完全一致
+    @Test
+    void runToEndMatchesTickByTickStepping() {
+        Random random = new Random(42);
+        for (int round = 0; round < 30; round++) {
+            int count = 1 + random.nextInt(60);
+            int maxArrival = 1 + random.nextInt(80);
+            int coreCount = 1 + random.nextInt(8);
+            long seed = random.nextLong();
+            for (Supplier<ISchedulingAlgorithm> algorithm : ALGORITHMS) {
+                SchedulerEngine stepped = newEngine(workload(seed, count, maxArrival), algorithm.get(), coreCount);
+                while (!stepped.isAllFinished()) {
+                    stepped.step();
+                }
+                SchedulerEngine evented = newEngine(workload(seed, count, maxArrival), algorithm.get(), coreCount);
+                evented.runToEnd();
+
+                String name = stepped.getAlgorithm().getName() + " on " + coreCount + " cores";
+                assertEquals(stepped.getCurrentTime(), evented.getCurrentTime(), name);
+                assertEquals(describe(stepped.getFinishedQueue()), describe(evented.getFinishedQueue()), name);
+            }
+        }
+    }
+
+    // 单步与事件驱动的结果都必须与基线的逐周期循环（BaselineScheduler）一致
+    @Test
+    void matchesBaselineTickByTickLoop() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int count = 1 + random.nextInt(40);
+            int maxArrival = 1 + random.nextInt(60);
+            int coreCount = round % 2 == 0 ? SchedulerEngine.DEFAULT_CORE_COUNT : 1 + random.nextInt(6);
+            int timeSlice = 1 + random.nextInt(4);
+            List<ProcessControlBlock> processes = workload(random.nextLong(), count, maxArrival);
+            for (BaselineScheduler.Policy policy : BaselineScheduler.Policy.values()) {
+                BaselineScheduler baseline = new BaselineScheduler(processes, policy, timeSlice, coreCount);
+                List<String> expected = describe(baseline.runToEnd());
+                String name = policy + " on " + coreCount + " cores, round " + round;
+
+                SchedulerEngine evented = newEngine(processes, algorithmFor(policy, timeSlice), coreCount);
+                evented.runToEnd();
+                assertEquals(expected, describe(evented.getFinishedQueue()), name);
+                assertEquals(baseline.getCurrentTime(), evented.getCurrentTime(), name);
+
+                SchedulerEngine stepped = newEngine(processes, algorithmFor(policy, timeSlice), coreCount);
+                while (!stepped.isAllFinished()) {
+                    stepped.step();
+                }
+                assertEquals(expected, describe(stepped.getFinishedQueue()), name);
+            }
+        }
+    }
+
+    private static ISchedulingAlgorithm algorithmFor(BaselineScheduler.Policy policy, int timeSlice) {
+        switch (policy) {
+            case FCFS:
+                return new FCFSAlgorithm();
+            case SJF:
+                return new SJFAlgorithm();
+            case PRIORITY:
+                return new PriorityAlgorithm();
+            case HRN:
+                return new HRNAlgorithm();
+            default:
+                return new RoundRobinAlgorithm(timeSlice);
+        }
+    }
+
+    @Test
+    void runToEndSkipsIdleGaps() {
+        List<ProcessControlBlock> processes = List.of(
+                new ProcessControlBlock(1, 0, 3, 10, 2),
+                new ProcessControlBlock(2, 1_000_000, 2, 12, 1)
+        );
+        SchedulerEngine engine = newEngine(processes, new FCFSAlgorithm());
+        engine.runToEnd();
+
+        assertTrue(engine.isAllFinished());
+        assertEquals(1_000_003, engine.getCurrentTime());
+        assertEquals(3, engine.getProcessList().get(0).getFinishTime());
+        assertEquals(1_000_002, engine.getProcessList().get(1).getFinishTime());
+    }
+
+    // 5个进程争抢4个核心：时间片用完的进程回到队尾，P5 不必等到前4个进程全部完成
+    @Test
+    void roundRobinPreemptsWhenTimeSliceExpires() {
+        List<ProcessControlBlock> processes = new ArrayList<>();
+        for (int pid = 1; pid <= 5; pid++) {
+            processes.add(new ProcessControlBlock(pid, 0, 3, 10, 1));
+        }
+        SchedulerEngine engine = newEngine(processes, new RoundRobinAlgorithm(2));
+        engine.runToEnd();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), engine.getFinishedQueue().stream().map(ProcessControlBlock::getPid).toList());
+        assertEquals(List.of(3, 3, 3, 4, 5), engine.getFinishedQueue().stream().map(ProcessControlBlock::getFinishTime).toList());
+        assertEquals(2, engine.getProcessList().get(4).getStartTime());
+        assertEquals(6, engine.getCurrentTime());
+    }
+
+    // 核心数多于进程数时，所有进程都在到达时刻立即上核
+    @Test
+    void configurableCoreCount() {
+        List<ProcessControlBlock> processes = new ArrayList<>();
+        for (int pid = 1; pid <= 300; pid++) {
+            processes.add(new ProcessControlBlock(pid, pid % 7, 5 + pid % 3, 10, 1));
+        }
+        SchedulerEngine engine = newEngine(processes, new SJFAlgorithm(), 256);
+        engine.runToEnd();
+
+        assertEquals(256, engine.getCores().size());
+        assertTrue(engine.isAllFinished());
+        for (ProcessControlBlock pcb : engine.getProcessList()) {
+            if (pcb.getPid() > 256) continue;
+            assertEquals(pcb.getArrivalTime(), pcb.getStartTime());
+            assertEquals(0, pcb.getWaitingTime());
+        }
+    }
+
+    // 稳态下的调度步骤不分配任何对象：先完整跑两遍预热，reset 后再统计逐步调度期间本线程分配的字节数
+    @Test
+    void stepDoesNotAllocateInSteadyState() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+
+        for (Supplier<ISchedulingAlgorithm> algorithm : ALGORITHMS) {
+            SchedulerEngine engine = newEngine(workload(11, 2000, 3000), algorithm.get(), 4);
+            engine.runToEnd();
+            engine.reset();
+            while (!engine.isAllFinished()) {
+                engine.step();
+            }
+            engine.reset();
+
+            // 读取计数器本身的开销作为基线
+            long start = threads.getThreadAllocatedBytes(threadId);
+            long overhead = threads.getThreadAllocatedBytes(threadId) - start;
+            long before = threads.getThreadAllocatedBytes(threadId);
+            while (!engine.isAllFinished()) {
+                engine.step();
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+
+            // 期间若恰好发生 GC，本线程的 TLAB 被退役时会计入几十字节的填充，与步数无关；
+            // 而每步哪怕只分配一个最小对象（16 字节），数千步下来也会远超这个阈值
+            assertTrue(allocated < 1024, engine.getAlgorithm().getName() + " allocated " + allocated + " bytes");
+        }
+    }
+
+    private static SchedulerEngine newEngine(List<ProcessControlBlock> processes, ISchedulingAlgorithm algorithm) {
+        return newEngine(processes, algorithm, SchedulerEngine.DEFAULT_CORE_COUNT);
+    }
+
+    private static SchedulerEngine newEngine(List<ProcessControlBlock> processes, ISchedulingAlgorithm algorithm, int coreCount) {
+        SchedulerEngine engine = new SchedulerEngine(coreCount);
+        engine.initProcesses(processes);
+        engine.setAlgorithm(algorithm);
+        return engine;
+    }
+
+    private static List<ProcessControlBlock> workload(long seed, int count, int maxArrival) {
+        Random random = new Random(seed);
+        List<ProcessControlBlock> processes = new ArrayList<>();
+        for (int pid = 1; pid <= count; pid++) {
+            processes.add(new ProcessControlBlock(pid, random.nextInt(maxArrival), 1 + random.nextInt(12),
+                    1 + random.nextInt(20), random.nextInt(5)));
+        }
+        return processes;
+    }
+
+    private static List<String> describe(List<ProcessControlBlock> processes) {
+        List<String> rows = new ArrayList<>();
+        for (ProcessControlBlock pcb : processes) {
+            rows.add(pcb.getPid() + ":" + pcb.getStartTime() + "-" + pcb.getFinishTime() + " w=" + pcb.getWaitingTime()
+                    + " t=" + pcb.getTurnaroundTime() + " wt=" + pcb.getWeightedTurnaroundTime());
+        }
+        return rows;
+    }
+}
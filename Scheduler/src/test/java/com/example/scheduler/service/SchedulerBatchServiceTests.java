@@ -0,0 +1,66 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.algorithm.SchedulingAlgorithmFactory;
+import com.example.scheduler.engine.SchedulerEngine;
+import com.example.scheduler.model.ProcessControlBlock;
+import com.example.scheduler.model.ScheduleResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SchedulerBatchServiceTests {
+
+    private static final List<String> ALGORITHMS = List.of("fcfs", "sjf", "priority", "hrn", "rr");
+
+    // 并行的批量结果与逐个串行运行的结果一致，且不修改传入的负载
+    @Test
+    void batchMatchesSerialRuns() {
+        Random random = new Random(3);
+        List<List<ProcessControlBlock>> workloads = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            List<ProcessControlBlock> workload = new ArrayList<>();
+            for (int pid = 1; pid <= 40; pid++) {
+                workload.add(new ProcessControlBlock(pid, random.nextInt(30), 1 + random.nextInt(8), 10, random.nextInt(5)));
+            }
+            workloads.add(workload);
+        }
+
+        SchedulerBatchService service = new SchedulerBatchService();
+        List<List<ScheduleResult>> results = service.runBatch(workloads, ALGORITHMS, 2, 3);
+        service.shutdown();
+
+        assertEquals(workloads.size(), results.size());
+        for (int w = 0; w < workloads.size(); w++) {
+            assertEquals(ALGORITHMS.size(), results.get(w).size());
+            for (int a = 0; a < ALGORITHMS.size(); a++) {
+                SchedulerEngine engine = new SchedulerEngine(3);
+                engine.initProcesses(workloads.get(w));
+                engine.setAlgorithm(SchedulingAlgorithmFactory.create(ALGORITHMS.get(a), 2));
+                engine.runToEnd();
+                ScheduleResult expected = engine.calculatePerformance();
+                ScheduleResult actual = results.get(w).get(a);
+                assertEquals(expected, actual, "workload " + w + ", " + ALGORITHMS.get(a));
+            }
+            for (ProcessControlBlock pcb : workloads.get(w)) {
+                assertEquals(-1, pcb.getFinishTime());
+            }
+        }
+    }
+
+    // 参数不合法时在提交任务之前直接抛出 IllegalArgumentException（控制器返回 400）
+    @Test
+    void rejectsInvalidCoreCountsAndAlgorithms() {
+        SchedulerBatchService service = new SchedulerBatchService();
+        List<List<ProcessControlBlock>> workloads = List.of(List.of(new ProcessControlBlock(1, 0, 3, 10, 1)));
+        assertThrows(IllegalArgumentException.class, () -> service.runBatch(workloads, List.of("fcfs"), null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.runBatch(workloads, List.of("fcfs"), null, SchedulerEngine.MAX_CORE_COUNT + 1));
+        assertThrows(IllegalArgumentException.class, () -> service.runBatch(workloads, List.of("fcfs", "lottery"), null, 4));
+        assertThrows(IllegalArgumentException.class, () -> service.runBatch(workloads, List.of("rr"), 0, 4));
+        service.shutdown();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.algorithm.FCFSAlgorithm;
+import com.example.scheduler.model.ProcessControlBlock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SchedulerServiceTests {
+
+    private static List<ProcessControlBlock> processes() {
+        return List.of(new ProcessControlBlock(1, 0, 3, 10, 1), new ProcessControlBlock(2, 1, 2, 10, 1));
+    }
+
+    private static void init(SchedulerService service, String sessionId) {
+        service.initProcesses(sessionId, processes(), 2, new FCFSAlgorithm());
+    }
+
+    // 各会话的时钟与进程互不影响；不传会话ID时使用默认会话
+    @Test
+    void sessionsAreIsolated() {
+        SchedulerService service = new SchedulerService(8, Duration.ofMinutes(30));
+        init(service, "a");
+        init(service, "b");
+        init(service, null);
+        service.scheduleStep("a");
+        service.runToEnd("b");
+
+        assertEquals(1, service.getStatus("a").getCurrentTime());
+        assertEquals(2, service.getStatus("b").getFinishedQueue().size());
+        assertEquals(0, service.getStatus(null).getCurrentTime());
+        assertEquals(0, service.getStatus(SchedulerService.DEFAULT_SESSION).getFinishedQueue().size());
+    }
+
+    // 只读请求查不到会话时返回 404，不创建会话，也不会把已有会话挤出去
+    @Test
+    void unknownSessionsAreNotCreatedByReads() {
+        SchedulerService service = new SchedulerService(2, Duration.ofMinutes(30));
+        init(service, null);
+        service.scheduleStep(null);
+        for (int i = 0; i < 300; i++) {
+            String id = "probe-" + i;
+            assertThrows(SessionNotFoundException.class, () -> service.getStatus(id));
+            assertThrows(SessionNotFoundException.class, () -> service.getSnapshot(id));
+            assertThrows(SessionNotFoundException.class, () -> service.scheduleStep(id));
+        }
+        assertEquals(1, service.getSessionCount());
+        assertEquals(1, service.getStatus(null).getCurrentTime());
+
+        service.closeSession(null);
+        assertThrows(SessionNotFoundException.class, () -> service.getStatus(null));
+        assertThrows(SessionNotFoundException.class, () -> service.closeSession(null));
+    }
+
+    // 超过空闲时间的会话不再可用
+    @Test
+    void idleSessionsExpire() throws InterruptedException {
+        SchedulerService service = new SchedulerService(8, Duration.ofMillis(50));
+        init(service, "idle");
+        Thread.sleep(120);
+        assertThrows(SessionNotFoundException.class, () -> service.getStatus("idle"));
+        assertEquals(0, service.getSessionCount());
+    }
+
+    // 满员时初始化新会话淘汰最久未访问的会话
+    @Test
+    void initEvictsLeastRecentlyUsedSessionWhenFull() throws InterruptedException {
+        SchedulerService service = new SchedulerService(2, Duration.ofMinutes(30));
+        init(service, "a");
+        Thread.sleep(2);
+        init(service, "b");
+        Thread.sleep(2);
+        service.getStatus("a"); // 访问 a，b 成为最久未访问的会话
+        Thread.sleep(2);
+        init(service, "c");
+
+        assertEquals(2, service.getSessionCount());
+        service.getStatus("a");
+        service.getStatus("c");
+        assertThrows(SessionNotFoundException.class, () -> service.getStatus("b"));
+    }
+}
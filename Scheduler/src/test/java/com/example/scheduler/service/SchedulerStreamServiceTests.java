@@ -0,0 +1,133 @@
+package com.example.scheduler.service;
+
+import com.example.scheduler.algorithm.FCFSAlgorithm;
+import com.example.scheduler.algorithm.RoundRobinAlgorithm;
+import com.example.scheduler.dto.SchedulerStatusDTO;
+import com.example.scheduler.dto.SchedulerTimelineDTO;
+import com.example.scheduler.model.ProcessControlBlock;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulerStreamServiceTests {
+
+    // 客户端很慢时步骤合并成少量帧，合并后的帧仍然完整描述了运行结果
+    @Test
+    void slowClientReceivesCoalescedFrames() throws InterruptedException {
+        SchedulerService schedulerService = new SchedulerService(4, Duration.ofDays(1));
+        List<ProcessControlBlock> processes = new ArrayList<>();
+        for (int pid = 1; pid <= 2000; pid++) {
+            processes.add(new ProcessControlBlock(pid, pid / 4, 1 + pid % 7, 10, pid % 5));
+        }
+        schedulerService.initProcesses("stream", processes, 4, new RoundRobinAlgorithm(2));
+
+        List<String> events = new ArrayList<>();
+        List<Object> frames = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        SchedulerStreamService streamService = new SchedulerStreamService(schedulerService, 1);
+        streamService.stream("stream", 0, new SchedulerStreamService.FrameSink() {
+            @Override
+            public void send(String event, Object data) throws IOException {
+                events.add(event);
+                frames.add(data);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public void complete() {
+                completed.countDown();
+            }
+
+            @Override
+            public void fail(Throwable failure) {
+                completed.countDown();
+            }
+        });
+        assertTrue(completed.await(30, TimeUnit.SECONDS));
+        streamService.shutdown();
+
+        assertEquals("status", events.get(0));
+        assertInstanceOf(SchedulerStatusDTO.class, frames.get(0));
+        assertEquals("done", events.get(events.size() - 1));
+
+        int steps = 0;
+        int[] cores = new int[4];
+        Set<Integer> finished = new HashSet<>();
+        Set<Integer> arrived = new HashSet<>();
+        for (Object data : frames.subList(1, frames.size())) {
+            SchedulerTimelineDTO frame = (SchedulerTimelineDTO) data;
+            steps += frame.getSteps();
+            for (SchedulerTimelineDTO.CoreChange change : frame.getCores()) {
+                cores[change.getCore()] = change.getPid();
+            }
+            finished.addAll(frame.getFinished());
+            for (SchedulerTimelineDTO.Arrival arrival : frame.getArrived()) {
+                // 到达事件带的是进程自身的到达时刻，而不是它被放入就绪队列的步骤时刻
+                assertEquals(arrival.getPid() / 4, arrival.getTime(), "pid " + arrival.getPid());
+                arrived.add(arrival.getPid());
+            }
+        }
+        assertTrue(steps > frames.size() * 10, "steps " + steps + " frames " + frames.size());
+        assertEquals(2000, finished.size());
+        assertEquals(2000, arrived.size());
+        assertEquals(List.of(-1, -1, -1, -1), List.of(cores[0], cores[1], cores[2], cores[3]));
+        assertTrue(schedulerService.isAllFinished("stream"));
+        assertNull(schedulerService.getStatus("stream").getCores().get(0).getRunningProcess());
+    }
+
+    // 超过同时流式运行的上限时抛出 StreamLimitExceededException（控制器返回 503）；
+    // 运行时间超过空闲超时的流式运行，每个步骤都会刷新会话，运行结束后会话仍然存在
+    @Test
+    void longStreamsKeepTheirSessionAndExtraStreamsAreRejected() throws InterruptedException {
+        SchedulerService schedulerService = new SchedulerService(4, Duration.ofMillis(100));
+        List<ProcessControlBlock> processes = new ArrayList<>();
+        for (int pid = 1; pid <= 10; pid++) {
+            processes.add(new ProcessControlBlock(pid, pid - 1, 1, 10, 1));
+        }
+        schedulerService.initProcesses("slow", processes, 1, new FCFSAlgorithm());
+
+        CountDownLatch completed = new CountDownLatch(1);
+        SchedulerStreamService streamService = new SchedulerStreamService(schedulerService, 1);
+        SchedulerStreamService.FrameSink sink = new SchedulerStreamService.FrameSink() {
+            @Override
+            public void send(String event, Object data) {
+            }
+
+            @Override
+            public void complete() {
+                completed.countDown();
+            }
+
+            @Override
+            public void fail(Throwable failure) {
+                completed.countDown();
+            }
+        };
+        // 10 个步骤，每步间隔 40ms，总时长远超 100ms 的空闲超时
+        SchedulerTimeline timeline = streamService.stream("slow", 40, sink);
+        assertThrows(StreamLimitExceededException.class, () -> streamService.stream("slow", 0, sink));
+
+        assertTrue(completed.await(30, TimeUnit.SECONDS));
+        assertNull(timeline.getFailure());
+        assertTrue(schedulerService.isAllFinished("slow"));
+        streamService.shutdown();
+    }
+}